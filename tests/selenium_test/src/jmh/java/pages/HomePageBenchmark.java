@@ -0,0 +1,71 @@
+package pages;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import utils.ConfigReader;
+import utils.WebDriverFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page-object hot paths against headless Chrome and the local fixture page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HomePageBenchmark {
+    private final By firstNameLocator = By.id("fname");
+
+    private WebDriver driver;
+    private HomePage homePage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigReader config = ConfigReader.getInstance();
+        driver = WebDriverFactory.createDriver(config);
+        homePage = new HomePage(driver, config.getBaseUrl());
+        homePage.openPage();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public void enterText() {
+        homePage.enterText(firstNameLocator, "John");
+    }
+
+    @Benchmark
+    public List<String[]> getTableData() {
+        // Drop the cached snapshot so every invocation measures the extraction itself
+        return homePage.refreshTable().getTableData();
+    }
+
+    @Benchmark
+    public HomePage selectDropdownOptionJs() {
+        return homePage.selectDropdownOption("option 2");
+    }
+
+    @Benchmark
+    public HomePage selectDropdownOptionSelectApi() {
+        return homePage.selectOption("Option 2");
+    }
+}
@@ -0,0 +1,49 @@
+package utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data generation throughput, single-threaded and contended
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomDataGeneratorBenchmark {
+
+    @Benchmark
+    public String generateRandomName() {
+        return RandomDataGenerator.generateRandomName();
+    }
+
+    @Benchmark
+    public String generateRandomEmail() {
+        return RandomDataGenerator.generateRandomEmail();
+    }
+
+    @Benchmark
+    public String generateRandomDate() {
+        return RandomDataGenerator.generateRandomDate();
+    }
+
+    @Benchmark
+    public String generateRandomString() {
+        return RandomDataGenerator.generateRandomString(20);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateRandomEmailContended() {
+        return RandomDataGenerator.generateRandomEmail();
+    }
+}
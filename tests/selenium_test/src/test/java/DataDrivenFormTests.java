@@ -0,0 +1,77 @@
+import org.junit.*;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestName;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.openqa.selenium.WebDriver;
+
+import pages.HomePage;
+import utils.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Data-driven variant of test07: fills the home page form once per UserRecord.
+ * Records come from testDataFile (.csv / .jsonl) or are generated from the seed (testDataCount);
+ * "shardIndex"/"shardCount" system properties split the records across CI agents.
+ */
+@RunWith(ParallelParameterized.class)
+public class DataDrivenFormTests {
+    private final UserRecord record;
+
+    private WebDriver driver;
+    private HomePage homePage;
+
+    @Rule
+    public TestName testName = new TestName();
+
+    @Rule
+    public RuleChain driverRules = RuleChain.outerRule(new DriverRule()).around(new FailureArtifactRule());
+
+    public DataDrivenFormTests(UserRecord record) {
+        this.record = record;
+    }
+
+    @Parameterized.Parameters(name = "{index}: {0}")
+    public static Iterable<Object[]> records() {
+        ConfigReader config = ConfigReader.getInstance();
+        int shardCount = Integer.getInteger("shardCount", 1);
+        int shardIndex = Integer.getInteger("shardIndex", 0);
+        return TestDataSource.parameters(
+            () -> TestDataSource.partition(TestDataSource.fromConfig(config), shardIndex, shardCount));
+    }
+
+    @Before
+    public void setUp() {
+        // Tag metrics with the running test
+        TestContext.setTestName(testName.getMethodName());
+
+        ConfigReader config = ConfigReader.current();
+        driver = DriverHolder.acquire(config);
+        homePage = new HomePage(driver, config.getBaseUrl());
+    }
+
+    @Test
+    public void fillUserForm() {
+        homePage.openPage();
+
+        homePage
+            .beginBatch()
+            .fillUserForm(record.getFirstName(), record.getLastName())
+            .selectGender(record.getGender())
+            .selectDropdownOption(record.getOption())
+            .selectDate(record.getDate())
+            .setQuantity(record.getQuantity())
+            .enterTextareaContent(record.getMessage())
+            .applyBatch();
+
+        assertEquals("First name should be correctly filled", record.getFirstName(), homePage.getFirstName());
+        assertEquals("Last name should be correctly filled", record.getLastName(), homePage.getLastName());
+        assertTrue("Gender should be correctly selected", homePage.isGenderSelected(record.getGender()));
+        assertEquals("Dropdown should be correctly selected", record.getOptionLabel(), homePage.getSelectedOption());
+        assertEquals("Quantity should be correctly set", String.valueOf(record.getQuantity()), homePage.getQuantity());
+        assertTrue("Textarea should contain input content", homePage.getTextareaContent().contains(record.getMessage()));
+
+        System.out.println("Data-driven form test passed: " + record);
+    }
+}
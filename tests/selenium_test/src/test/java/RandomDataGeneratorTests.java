@@ -0,0 +1,43 @@
+import org.junit.*;
+
+import utils.RandomDataGenerator;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Browser-free checks of the seeded random data generator
+ */
+public class RandomDataGeneratorTests {
+
+    @Test
+    public void sameSeedAndScopeGiveSameDate() {
+        RandomDataGenerator.reseed("sameSeedAndScopeGiveSameDate");
+        String first = RandomDataGenerator.generateRandomDate();
+        RandomDataGenerator.reseed("sameSeedAndScopeGiveSameDate");
+        String second = RandomDataGenerator.generateRandomDate();
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void defaultDateUsesThreadStream() {
+        RandomDataGenerator.reseed("defaultDateUsesThreadStream");
+        String fromDefault = RandomDataGenerator.generateRandomDate();
+        RandomDataGenerator.reseed("defaultDateUsesThreadStream");
+        String fromStream = RandomDataGenerator.generateRandomDate(RandomDataGenerator.random());
+
+        assertEquals(fromDefault, fromStream);
+    }
+
+    @Test
+    public void datesStayInYearBeforeEpoch() {
+        LocalDate end = LocalDate.of(2024, 1, 1);
+        for (int index = 0; index < 200; index++) {
+            LocalDate date = LocalDate.parse(RandomDataGenerator.generateRandomDate(RandomDataGenerator.randomFor(index)));
+            assertFalse(date.toString(), date.isAfter(end));
+            assertTrue(date.toString(), date.isAfter(end.minusDays(365)));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+import utils.TestDataSource;
+import utils.UserRecord;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Browser-free checks of the test data source: CSV parsing, stream partitioning and per-worker generation
+ */
+public class TestDataSourceTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readCsvHandlesQuotedFields() throws IOException {
+        Path file = writeFile("users.csv",
+            "id,firstName,lastName,gender,option,date,quantity,message",
+            "7,Jane,\"Smith, Jr.\",female,option 2,2023-05-01,3,\"said \"\"hi\"\", left\"",
+            "",
+            "8,John,,male,option,2023-06-02,1,plain");
+
+        List<UserRecord> records = read(file);
+
+        assertEquals(2, records.size());
+        UserRecord first = records.get(0);
+        assertEquals(7, first.getId());
+        assertEquals("Smith, Jr.", first.getLastName());
+        assertEquals("said \"hi\", left", first.getMessage());
+        assertEquals(3, first.getQuantity());
+        assertEquals("", records.get(1).getLastName());
+    }
+
+    @Test
+    public void readCsvMapsColumnsByHeader() throws IOException {
+        Path file = writeFile("reordered.csv",
+            "message,quantity,date,option,gender,lastName,firstName,id",
+            "hello,4,2023-01-15,option 3,other,Brown,Emma,42");
+
+        UserRecord record = read(file).get(0);
+
+        assertEquals(42, record.getId());
+        assertEquals("Emma", record.getFirstName());
+        assertEquals("Brown", record.getLastName());
+        assertEquals("option 3", record.getOption());
+        assertEquals("hello", record.getMessage());
+    }
+
+    @Test
+    public void csvAndJsonlRoundTrip() {
+        List<UserRecord> generated = TestDataSource.generate(20).collect(Collectors.toList());
+        Path csv = folder.getRoot().toPath().resolve("round-trip.csv");
+        Path jsonl = folder.getRoot().toPath().resolve("round-trip.jsonl");
+
+        assertEquals(20, TestDataSource.write(generated.stream(), csv));
+        assertEquals(20, TestDataSource.write(generated.stream(), jsonl));
+
+        assertEquals(toMaps(generated), toMaps(read(csv)));
+        assertEquals(toMaps(generated), toMaps(read(jsonl)));
+    }
+
+    @Test
+    public void generatedRecordsAreStable() {
+        assertEquals(UserRecord.generate(11).toMap(), UserRecord.generate(11).toMap());
+        assertNotEquals(UserRecord.generate(11).toMap(), UserRecord.generate(12).toMap());
+    }
+
+    @Test
+    public void partitionKeepsEveryNthElement() {
+        assertEquals(Arrays.asList(1, 4, 7), partition(10, 1, 3));
+        assertEquals(Arrays.asList(0, 3, 6, 9), partition(10, 0, 3));
+        assertEquals(Arrays.asList(2), partition(3, 2, 3));
+        assertEquals(Arrays.asList(), partition(2, 2, 3));
+    }
+
+    @Test
+    public void partitionsCoverSourceExactlyOnce() {
+        for (int workers = 1; workers <= 4; workers++) {
+            List<Integer> all = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                all.addAll(partition(11, worker, workers));
+            }
+            all.sort(null);
+            assertEquals("workers=" + workers, IntStream.range(0, 11).boxed().collect(Collectors.toList()), all);
+        }
+    }
+
+    @Test
+    public void partitionClosesSource() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> source = Stream.of(1, 2, 3).onClose(() -> closed.set(true));
+        TestDataSource.partition(source, 0, 2).close();
+        assertTrue(closed.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void partitionRejectsWorkerOutOfRange() {
+        TestDataSource.partition(Stream.of(1), 2, 2);
+    }
+
+    @Test
+    public void workerGenerationMatchesPartitionOfAllRecords() {
+        for (int count = 0; count <= 10; count++) {
+            for (int workers = 1; workers <= 4; workers++) {
+                for (int worker = 0; worker < workers; worker++) {
+                    List<Object> expected = toMaps(TestDataSource.partition(TestDataSource.generate(count), worker, workers)
+                        .collect(Collectors.toList()));
+                    List<Object> actual = toMaps(TestDataSource.generate(count, worker, workers)
+                        .collect(Collectors.toList()));
+                    assertEquals("count=" + count + " worker=" + worker + "/" + workers, expected, actual);
+                }
+            }
+        }
+    }
+
+    private Path writeFile(String name, String... lines) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<UserRecord> read(Path file) {
+        try (Stream<UserRecord> records = TestDataSource.read(file)) {
+            return records.collect(Collectors.toList());
+        }
+    }
+
+    private static List<Integer> partition(int size, int worker, int workers) {
+        return TestDataSource.partition(IntStream.range(0, size).boxed(), worker, workers).collect(Collectors.toList());
+    }
+
+    private static List<Object> toMaps(List<UserRecord> records) {
+        return records.stream().map(record -> (Object) record.toMap()).collect(Collectors.toList());
+    }
+}
@@ -5,22 +5,68 @@ import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.ConfigReader;
+import utils.PageTiming;
+import utils.PageTimingRecorder;
+import utils.PerformanceBudget;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Base class for all page objects
  */
 public class BasePage {
+    private static final String NAVIGATION_MARKER_SCRIPT = "window.__navigationMarker = true;";
+    private static final String NAVIGATION_STATE_SCRIPT =
+        JsLocator.FIND_FUNCTION +
+        "var targets = arguments[0], found = -1;" +
+        "for (var i = 0; i < targets.length; i++) {" +
+        "  if (findFirst(targets[i][0], targets[i][1])) { found = i; break; }" +
+        "}" +
+        "return {ready: document.readyState === 'complete', marked: window.__navigationMarker === true, found: found};";
+    private static final String PRESENCE_SCRIPT =
+        JsLocator.FIND_FUNCTION +
+        JsLocator.VISIBLE_FUNCTION +
+        "var targets = arguments[0], displayedOnly = arguments[1], result = [];" +
+        "for (var i = 0; i < targets.length; i++) {" +
+        "  var el = findFirst(targets[i][0], targets[i][1]);" +
+        "  result.push(displayedOnly ? isVisible(el) : el !== null);" +
+        "}" +
+        "return result;";
+    private static final Duration NAVIGATION_POLL_INTERVAL = Duration.ofMillis(50);
+    private static final Duration NAVIGATION_SETTLE_TIME = Duration.ofMillis(500);
+    private static final Duration LINK_NAVIGATION_TIMEOUT = Duration.ofSeconds(10);
+    private static final int NAVIGATION_TIMED_OUT = -2;
+
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected DomWait domWait;
     protected JavascriptExecutor js;
     protected Actions actions;
 
+    // Elements already resolved on the current document, dropped on navigation
+    private final Map<By, WebElement> elementCache = new HashMap<>();
+    // Asynchronous reads not yet sent to the browser
+    private ReadBatch pendingReads;
+    // Session implicit wait, read once and restored after no-wait lookups
+    private Duration implicitWait;
+    // Timing of the last page load, when page timing capture is enabled
+    private PageTiming lastTiming;
+
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.domWait = new DomWait(driver, Duration.ofSeconds(15));
         this.js = (JavascriptExecutor) driver;
         this.actions = new Actions(driver);
     }
@@ -29,13 +75,133 @@ public class BasePage {
      * Open URL
      */
     protected void open(String url) {
+        invalidateElementCache();
+        ConfigReader config = ConfigReader.current();
+        if (!config.isPageTimingEnabled()) {
+            driver.get(url);
+            return;
+        }
+
+        PageTimingRecorder.getInstance().beforeNavigation(driver);
         driver.get(url);
+        recordNavigation(getClass().getSimpleName(), config);
+    }
+
+    /**
+     * Record timing of the page just loaded and evaluate the budget of the page class it belongs to
+     */
+    private void recordNavigation(String page, ConfigReader config) {
+        lastTiming = PageTimingRecorder.getInstance().record(driver, page, config);
+        PerformanceBudget budget = config.getPerformanceBudget(page);
+        if (budget != null && lastTiming != null) {
+            budget.evaluate(lastTiming);
+        }
+    }
+
+    /**
+     * Get navigation / resource timing of the last page load, or null when capture is disabled
+     */
+    public PageTiming getLastTiming() {
+        return lastTiming;
+    }
+
+    /**
+     * Mark the current document so waitForNavigation can tell when it has been replaced
+     */
+    protected void markCurrentDocument() {
+        js.executeScript(NAVIGATION_MARKER_SCRIPT);
+        if (ConfigReader.current().isPageTimingEnabled()) {
+            PageTimingRecorder.getInstance().beforeNavigation(driver);
+        }
+    }
+
+    /**
+     * Click a link and wait for the page it leads to, recording its timing and budget as the given page class
+     */
+    protected void clickAndWaitForNavigation(By locator, Class<? extends BasePage> page) {
+        markCurrentDocument();
+        clickElement(locator);
+        waitForNavigation(page, LINK_NAVIGATION_TIMEOUT);
+    }
+
+    /**
+     * Wait for navigation started after markCurrentDocument() to complete: the marked document
+     * is gone, the new one is ready and one of the target elements is present.
+     * Unexpected alerts are accepted within the same poll.
+     * @return index of the target found, or -1 if the new page has none of them (or on timeout)
+     */
+    protected int waitForNavigation(Duration timeout, By... targets) {
+        return waitForNavigation(getClass(), timeout, targets);
+    }
+
+    /**
+     * Wait for navigation like {@link #waitForNavigation(Duration, By...)}, recording the new page's timing
+     * and budget as the given page class
+     */
+    protected int waitForNavigation(Class<? extends BasePage> page, Duration timeout, By... targets) {
+        int found = awaitNavigation(timeout, targets);
+        ConfigReader config = ConfigReader.current();
+        if (found != NAVIGATION_TIMED_OUT && config.isPageTimingEnabled()) {
+            recordNavigation(page.getSimpleName(), config);
+        }
+        return Math.max(found, -1);
+    }
+
+    private int awaitNavigation(Duration timeout, By... targets) {
+        invalidateElementCache();
+        List<List<String>> jsTargets = new ArrayList<>();
+        for (By target : targets) {
+            JsLocator jsLocator = JsLocator.of(target);
+            if (jsLocator != null) {
+                jsTargets.add(Arrays.asList(jsLocator.getUsing(), jsLocator.getValue()));
+            }
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long readySince = 0;
+        while (System.nanoTime() < deadline) {
+            try {
+                Map<?, ?> state = (Map<?, ?>) js.executeScript(NAVIGATION_STATE_SCRIPT, jsTargets);
+                boolean loaded = Boolean.TRUE.equals(state.get("ready")) && !Boolean.TRUE.equals(state.get("marked"));
+                int found = ((Number) state.get("found")).intValue();
+                if (loaded && (found >= 0 || jsTargets.isEmpty())) {
+                    return found;
+                }
+                if (loaded) {
+                    // New page is ready but shows no target - give late rendering a short grace period
+                    if (readySince == 0) {
+                        readySince = System.nanoTime();
+                    } else if (System.nanoTime() - readySince > NAVIGATION_SETTLE_TIME.toNanos()) {
+                        return -1;
+                    }
+                }
+            } catch (UnhandledAlertException e) {
+                try {
+                    Alert alert = driver.switchTo().alert();
+                    System.out.println("Accepted alert during navigation: " + alert.getText());
+                    alert.accept();
+                } catch (NoAlertPresentException ignored) {
+                    // Driver already dismissed it
+                }
+            } catch (JavascriptException e) {
+                // Document unloading between polls
+            }
+
+            try {
+                Thread.sleep(NAVIGATION_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return NAVIGATION_TIMED_OUT;
+            }
+        }
+        return NAVIGATION_TIMED_OUT;
     }
 
     /**
      * Get page title
      */
     public String getPageTitle() {
+        flushReads();
         return driver.getTitle();
     }
 
@@ -43,81 +209,252 @@ public class BasePage {
      * Find element using explicit wait
      */
     protected WebElement waitForElementVisible(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return domWait.untilVisible(locator);
     }
 
     /**
      * Find element using explicit wait until clickable
      */
     protected WebElement waitForElementClickable(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return domWait.untilClickable(locator);
     }
 
     /**
      * Wait using explicit wait until element is invisible
      */
     protected boolean waitForElementInvisible(By locator) {
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return domWait.untilInvisible(locator);
+    }
+
+    /**
+     * Run an action on the cached element for the locator, resolving it with an explicit wait on first use.
+     * A stale reference is dropped and the element resolved again, once.
+     * Cached references skip the visibility wait - call waitForElementVisible directly to wait for a state change.
+     */
+    protected <T> T withElement(By locator, Function<WebElement, T> action) {
+        return withElement(locator, this::waitForElementVisible, action);
+    }
+
+    /**
+     * Run an action without result on the cached element for the locator
+     */
+    protected void actOnElement(By locator, Consumer<WebElement> action) {
+        withElement(locator, this::waitForElementVisible, element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    /**
+     * Run an action on the cached elements of two locators, resolving both again if either is stale
+     */
+    protected <T> T withElements(By first, By second, BiFunction<WebElement, WebElement, T> action) {
+        flushReads();
+        try {
+            return action.apply(findCached(first, this::waitForElementVisible), findCached(second, this::waitForElementVisible));
+        } catch (StaleElementReferenceException e) {
+            elementCache.remove(first);
+            elementCache.remove(second);
+            return action.apply(findCached(first, this::waitForElementVisible), findCached(second, this::waitForElementVisible));
+        }
+    }
+
+    private <T> T withElement(By locator, Function<By, WebElement> resolver, Function<WebElement, T> action) {
+        flushReads();
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            try {
+                return action.apply(cached);
+            } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                // Re-rendered, or not interactable yet - resolve again with the explicit wait
+                elementCache.remove(locator);
+            }
+        }
+        return action.apply(findCached(locator, resolver));
+    }
+
+    private WebElement findCached(By locator, Function<By, WebElement> resolver) {
+        WebElement element = elementCache.get(locator);
+        if (element == null) {
+            element = resolver.apply(locator);
+            elementCache.put(locator, element);
+        }
+        return element;
+    }
+
+    /**
+     * Drop all cached element references - called whenever the document may have been replaced
+     */
+    protected void invalidateElementCache() {
+        flushReads();
+        elementCache.clear();
     }
 
     /**
      * Click element
      */
     protected void clickElement(By locator) {
-        waitForElementClickable(locator).click();
+        withElement(locator, this::waitForElementClickable, element -> {
+            element.click();
+            return null;
+        });
     }
 
     /**
      * Click element using JavaScript
      */
     protected void jsClick(By locator) {
-        WebElement element = waitForElementVisible(locator);
-        js.executeScript("arguments[0].click();", element);
+        actOnElement(locator, element -> js.executeScript("arguments[0].click();", element));
     }
 
     /**
      * Enter text
      */
     protected void enterText(By locator, String text) {
-        WebElement element = waitForElementVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        actOnElement(locator, element -> {
+            element.clear();
+            element.sendKeys(text);
+        });
+    }
+
+    /**
+     * Create a form batch that applies field assignments in a single script call
+     */
+    protected FormBatch newFormBatch() {
+        return new FormBatch(js, this::waitForElementVisible, this::flushReads);
+    }
+
+    /**
+     * Get the batch collecting asynchronous reads - they run together in one script call
+     * once a result is awaited, or before the next command of the page
+     */
+    protected ReadBatch reads() {
+        if (pendingReads == null) {
+            pendingReads = new ReadBatch(js, this::waitForElementVisible);
+        }
+        return pendingReads;
+    }
+
+    /**
+     * Ordering barrier - run pending reads, so they see the page as it was before the next command
+     */
+    protected void flushReads() {
+        ReadBatch batch = pendingReads;
+        pendingReads = null;
+        if (batch != null) {
+            batch.flush();
+        }
     }
 
     /**
      * Get element text
      */
     protected String getElementText(By locator) {
-        return waitForElementVisible(locator).getText();
+        return withElement(locator, WebElement::getText);
     }
 
     /**
      * Get element attribute
      */
     protected String getElementAttribute(By locator, String attribute) {
-        return waitForElementVisible(locator).getAttribute(attribute);
+        return withElement(locator, element -> element.getAttribute(attribute));
     }
 
     /**
-     * Check if element is displayed
+     * Check if element is displayed - returns immediately instead of waiting out the implicit wait
      */
     protected boolean isElementDisplayed(By locator) {
+        return findDisplayed(locator).get(0);
+    }
+
+    /**
+     * Check if element exists - returns immediately instead of waiting out the implicit wait
+     */
+    protected boolean isElementPresent(By locator) {
+        return findPresent(locator).get(0);
+    }
+
+    /**
+     * Check which locators match an element, in one script call
+     * @return bit i is set when locators[i] is present
+     */
+    protected BitSet findPresent(By... locators) {
+        return checkLocators(false, locators);
+    }
+
+    /**
+     * Check which locators match a displayed element, in one script call
+     * @return bit i is set when locators[i] is displayed
+     */
+    protected BitSet findDisplayed(By... locators) {
+        return checkLocators(true, locators);
+    }
+
+    private BitSet checkLocators(boolean displayedOnly, By... locators) {
+        flushReads();
+        BitSet result = new BitSet(locators.length);
+        List<List<String>> jsTargets = new ArrayList<>();
+        List<Integer> jsIndexes = new ArrayList<>();
+        List<Integer> driverIndexes = new ArrayList<>();
+        for (int i = 0; i < locators.length; i++) {
+            JsLocator jsLocator = JsLocator.of(locators[i]);
+            if (jsLocator != null) {
+                jsTargets.add(Arrays.asList(jsLocator.getUsing(), jsLocator.getValue()));
+                jsIndexes.add(i);
+            } else {
+                driverIndexes.add(i);
+            }
+        }
+
+        if (!jsTargets.isEmpty()) {
+            try {
+                List<?> found = (List<?>) js.executeScript(PRESENCE_SCRIPT, jsTargets, displayedOnly);
+                for (int i = 0; i < found.size(); i++) {
+                    if (Boolean.TRUE.equals(found.get(i))) {
+                        result.set(jsIndexes.get(i));
+                    }
+                }
+            } catch (JavascriptException e) {
+                // Document unloading - check these locators through the driver instead
+                driverIndexes.addAll(jsIndexes);
+            }
+        }
+
+        if (!driverIndexes.isEmpty()) {
+            withoutImplicitWait(() -> {
+                for (int index : driverIndexes) {
+                    List<WebElement> elements = driver.findElements(locators[index]);
+                    if (!elements.isEmpty() && (!displayedOnly || isDisplayedQuietly(elements.get(0)))) {
+                        result.set(index);
+                    }
+                }
+                return null;
+            });
+        }
+        return result;
+    }
+
+    private static boolean isDisplayedQuietly(WebElement element) {
         try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (NoSuchElementException e) {
+            return element.isDisplayed();
+        } catch (StaleElementReferenceException e) {
             return false;
         }
     }
 
     /**
-     * Check if element exists
+     * Run lookups with the implicit wait set to zero, so absent elements fail fast
      */
-    protected boolean isElementPresent(By locator) {
+    protected <T> T withoutImplicitWait(Supplier<T> lookup) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        if (implicitWait == null) {
+            implicitWait = timeouts.getImplicitWaitTimeout();
+        }
+        timeouts.implicitlyWait(Duration.ZERO);
         try {
-            driver.findElement(locator);
-            return true;
-        } catch (NoSuchElementException e) {
-            return false;
+            return lookup.get();
+        } finally {
+            timeouts.implicitlyWait(implicitWait);
         }
     }
 
@@ -125,86 +462,87 @@ public class BasePage {
      * Select text from dropdown
      */
     protected void selectFromDropdown(By locator, String text) {
-        Select select = new Select(waitForElementVisible(locator));
-        select.selectByVisibleText(text);
+        actOnElement(locator, element -> new Select(element).selectByVisibleText(text));
     }
 
     /**
      * Select by index from dropdown
      */
     protected void selectFromDropdownByIndex(By locator, int index) {
-        Select select = new Select(waitForElementVisible(locator));
-        select.selectByIndex(index);
+        actOnElement(locator, element -> new Select(element).selectByIndex(index));
     }
 
     /**
      * Select multiple options from multi-select dropdown
      */
     protected void selectMultipleOptions(By locator, String[] options) {
-        Select select = new Select(waitForElementVisible(locator));
-        for (String option : options) {
-            select.selectByVisibleText(option);
-        }
+        actOnElement(locator, element -> {
+            Select select = new Select(element);
+            for (String option : options) {
+                select.selectByVisibleText(option);
+            }
+        });
     }
 
     /**
      * Select radio button
      */
     protected void selectRadioButton(By locator) {
-        WebElement radioButton = waitForElementClickable(locator);
-        if (!radioButton.isSelected()) {
-            radioButton.click();
-        }
+        withElement(locator, this::waitForElementClickable, radioButton -> {
+            if (!radioButton.isSelected()) {
+                radioButton.click();
+            }
+            return null;
+        });
     }
 
     /**
      * Check checkbox
      */
     protected void checkCheckbox(By locator, boolean check) {
-        WebElement checkbox = waitForElementClickable(locator);
-        if ((check && !checkbox.isSelected()) || (!check && checkbox.isSelected())) {
-            checkbox.click();
-        }
+        withElement(locator, this::waitForElementClickable, checkbox -> {
+            if ((check && !checkbox.isSelected()) || (!check && checkbox.isSelected())) {
+                checkbox.click();
+            }
+            return null;
+        });
     }
 
     /**
      * Check if checkbox is selected
      */
     protected boolean isCheckboxSelected(By locator) {
-        return waitForElementVisible(locator).isSelected();
+        return withElement(locator, WebElement::isSelected);
     }
 
     /**
      * Check if radio button is selected
      */
     protected boolean isRadioButtonSelected(By locator) {
-        return waitForElementVisible(locator).isSelected();
+        return withElement(locator, WebElement::isSelected);
     }
 
     /**
      * Hover over element
      */
     protected void hoverElement(By locator) {
-        WebElement element = waitForElementVisible(locator);
-        actions.moveToElement(element).perform();
+        actOnElement(locator, element -> actions.moveToElement(element).perform());
     }
 
     /**
      * Drag and drop operation
      */
     protected void dragAndDrop(By sourceLocator, By targetLocator) {
-        WebElement source = waitForElementVisible(sourceLocator);
-        WebElement target = waitForElementVisible(targetLocator);
-        actions.dragAndDrop(source, target).perform();
+        withElements(sourceLocator, targetLocator, (source, target) -> {
+            actions.dragAndDrop(source, target).perform();
+            return null;
+        });
     }
 
     /**
      * Drag and drop using JavaScript (alternative method)
      */
     protected void jsDragAndDrop(By sourceLocator, By targetLocator) {
-        WebElement source = waitForElementVisible(sourceLocator);
-        WebElement target = waitForElementVisible(targetLocator);
-        
         String script = "function createEvent(typeOfEvent) {\n" +
                 "  var event = document.createEvent(\"CustomEvent\");\n" +
                 "  event.initCustomEvent(typeOfEvent, true, true, null);\n" +
@@ -242,53 +580,49 @@ public class BasePage {
                 "\n" +
                 "simulateHTML5DragAndDrop(arguments[0], arguments[1]);";
         
-        js.executeScript(script, source, target);
+        withElements(sourceLocator, targetLocator, (source, target) -> js.executeScript(script, source, target));
     }
 
     /**
      * Double click element
      */
     protected void doubleClickElement(By locator) {
-        WebElement element = waitForElementVisible(locator);
-        actions.doubleClick(element).perform();
+        actOnElement(locator, element -> actions.doubleClick(element).perform());
     }
 
     /**
      * Upload file
      */
     protected void uploadFile(By locator, String filePath) {
-        WebElement fileInput = waitForElementVisible(locator);
-        fileInput.sendKeys(filePath);
+        actOnElement(locator, fileInput -> fileInput.sendKeys(filePath));
     }
 
     /**
      * Get all dropdown options
      */
     protected List<WebElement> getDropdownOptions(By locator) {
-        Select select = new Select(waitForElementVisible(locator));
-        return select.getOptions();
+        return withElement(locator, element -> new Select(element).getOptions());
     }
 
     /**
      * Get selected dropdown option text
      */
     protected String getSelectedDropdownOptionText(By locator) {
-        Select select = new Select(waitForElementVisible(locator));
-        return select.getFirstSelectedOption().getText();
+        return withElement(locator, element -> new Select(element).getFirstSelectedOption().getText());
     }
 
     /**
      * Scroll to element using JavaScript
      */
     protected void scrollToElement(By locator) {
-        WebElement element = waitForElementVisible(locator);
-        js.executeScript("arguments[0].scrollIntoView(true);", element);
+        actOnElement(locator, element -> js.executeScript("arguments[0].scrollIntoView(true);", element));
     }
 
     /**
      * Scroll to bottom of page using JavaScript
      */
     protected void scrollToBottom() {
+        flushReads();
         js.executeScript("window.scrollTo(0, document.body.scrollHeight);");
     }
 
@@ -296,6 +630,7 @@ public class BasePage {
      * Scroll to top of page using JavaScript
      */
     protected void scrollToTop() {
+        flushReads();
         js.executeScript("window.scrollTo(0, 0);");
     }
 
@@ -303,6 +638,7 @@ public class BasePage {
      * Get page source
      */
     protected String getPageSource() {
+        flushReads();
         return driver.getPageSource();
     }
 
@@ -310,6 +646,7 @@ public class BasePage {
      * Get current URL
      */
     protected String getCurrentUrl() {
+        flushReads();
         return driver.getCurrentUrl();
     }
 
@@ -317,6 +654,7 @@ public class BasePage {
      * Navigate back in browser
      */
     protected void navigateBack() {
+        invalidateElementCache();
         driver.navigate().back();
     }
 
@@ -324,6 +662,7 @@ public class BasePage {
      * Navigate forward in browser
      */
     protected void navigateForward() {
+        invalidateElementCache();
         driver.navigate().forward();
     }
 
@@ -331,6 +670,7 @@ public class BasePage {
      * Refresh page
      */
     protected void refreshPage() {
+        invalidateElementCache();
         driver.navigate().refresh();
     }
 
@@ -367,6 +707,7 @@ public class BasePage {
      */
     protected void switchToFrame(By frameLocator) {
         WebElement frame = waitForElementVisible(frameLocator);
+        invalidateElementCache();
         driver.switchTo().frame(frame);
     }
     
@@ -374,14 +715,14 @@ public class BasePage {
      * Get element value
      */
     protected String getElementValue(By locator) {
-        WebElement element = waitForElementVisible(locator);
-        return element.getAttribute("value");
+        return withElement(locator, element -> element.getAttribute("value"));
     }
 
     /**
      * Switch back to main document
      */
     protected void switchToDefaultContent() {
+        invalidateElementCache();
         driver.switchTo().defaultContent();
     }
 }
\ No newline at end of file
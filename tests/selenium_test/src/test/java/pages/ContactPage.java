@@ -37,7 +37,7 @@ public class ContactPage extends BasePage {
      * Click home link
      */
     public void clickHomeLink() {
-        clickElement(homeLinkLocator);
+        clickAndWaitForNavigation(homeLinkLocator, HomePage.class);
         System.out.println("Clicking home link");
     }
     
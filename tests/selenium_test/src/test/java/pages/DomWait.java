@@ -0,0 +1,112 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnhandledAlertException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Event-driven wait engine - a MutationObserver installed through executeAsyncScript resolves
+ * as soon as the DOM condition holds, instead of polling findElement every 500 ms.
+ * Falls back to WebDriverWait polling when the locator or the page cannot be observed.
+ */
+public class DomWait {
+    private static final String MODE_VISIBLE = "visible";
+    private static final String MODE_CLICKABLE = "clickable";
+    private static final String MODE_INVISIBLE = "invisible";
+
+    private static final String OBSERVE_SCRIPT =
+        "var using = arguments[0], value = arguments[1], mode = arguments[2], timeoutMs = arguments[3];" +
+        "var done = arguments[arguments.length - 1];" +
+        JsLocator.FIND_FUNCTION +
+        JsLocator.VISIBLE_FUNCTION +
+        "function check() {" +
+        "  var el = findFirst(using, value);" +
+        "  if (mode === 'invisible') { return isVisible(el) ? null : {ok: true}; }" +
+        "  if (isVisible(el) && (mode !== 'clickable' || !el.disabled)) { return {ok: true, element: el}; }" +
+        "  return null;" +
+        "}" +
+        "var result = check();" +
+        "if (result) { done(result); return; }" +
+        "var finished = false, observer, timer, deadline;" +
+        "function finish(r) {" +
+        "  if (finished) { return; }" +
+        "  finished = true; observer.disconnect(); clearInterval(timer); clearTimeout(deadline); done(r);" +
+        "}" +
+        "function recheck() { var r = check(); if (r) { finish(r); } }" +
+        "observer = new MutationObserver(recheck);" +
+        "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});" +
+        // CSS-only changes (:hover, transitions) do not mutate the DOM, so re-check on a cheap in-page timer too
+        "timer = setInterval(recheck, 50);" +
+        "deadline = setTimeout(function() { finish({ok: false}); }, timeoutMs);";
+
+    private final WebDriver driver;
+    private final JavascriptExecutor js;
+    private final Duration timeout;
+
+    public DomWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.js = (JavascriptExecutor) driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Wait until the element is visible
+     */
+    public WebElement untilVisible(By locator) {
+        return (WebElement) await(locator, MODE_VISIBLE, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Wait until the element is visible and enabled
+     */
+    public WebElement untilClickable(By locator) {
+        return (WebElement) await(locator, MODE_CLICKABLE, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    /**
+     * Wait until the element is invisible or absent
+     */
+    public boolean untilInvisible(By locator) {
+        return (Boolean) await(locator, MODE_INVISIBLE, ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+
+    private Object await(By locator, String mode, ExpectedCondition<?> fallback) {
+        JsLocator jsLocator = JsLocator.of(locator);
+        long start = System.nanoTime();
+
+        if (jsLocator != null) {
+            try {
+                Map<?, ?> result = (Map<?, ?>) js.executeAsyncScript(OBSERVE_SCRIPT,
+                    jsLocator.getUsing(), jsLocator.getValue(), mode, timeout.toMillis());
+                if (!Boolean.TRUE.equals(result.get("ok"))) {
+                    throw new TimeoutException("Expected condition failed: waiting for element to be " + mode +
+                        ": " + locator + " (tried for " + timeout.getSeconds() + " second(s) with event-driven wait)");
+                }
+                return MODE_INVISIBLE.equals(mode) ? Boolean.TRUE : result.get("element");
+            } catch (UnhandledAlertException e) {
+                throw e;
+            } catch (TimeoutException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Page navigated mid-wait or the script could not run - continue by polling
+                System.out.println("Event-driven wait unavailable, falling back to polling: " + e.getMessage());
+            }
+        }
+
+        Duration remaining = timeout.minus(Duration.ofNanos(System.nanoTime() - start));
+        if (remaining.isNegative() || remaining.isZero()) {
+            remaining = Duration.ofMillis(1);
+        }
+        return new WebDriverWait(driver, remaining).until(fallback);
+    }
+}
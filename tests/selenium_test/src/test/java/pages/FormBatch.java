@@ -0,0 +1,219 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Collects form field assignments and applies them in a single script execution,
+ * dispatching the input/change events a user interaction would fire.
+ * Fields added with {@link #typed(By, String)} are filled with real keystrokes after the script runs.
+ */
+public class FormBatch {
+    private static final String APPLY_SCRIPT =
+        "var ops = arguments[0], missing = [];" +
+        JsLocator.FIND_FUNCTION +
+        "function fire(el, type) { el.dispatchEvent(new Event(type, {bubbles: true})); }" +
+        "function setValue(el, value) {" +
+        "  var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value');" +
+        "  if (descriptor && descriptor.set) { descriptor.set.call(el, value); } else { el.value = value; }" +
+        "  fire(el, 'input'); fire(el, 'change');" +
+        "}" +
+        "for (var i = 0; i < ops.length; i++) {" +
+        "  var op = ops[i];" +
+        "  var el = op.element || findFirst(op.using, op.locator);" +
+        "  if (!el) { missing.push(i); continue; }" +
+        "  if (op.kind === 'value') { setValue(el, op.value); }" +
+        "  else if (op.kind === 'check') { if (el.checked !== op.value) { el.click(); } }" +
+        "  else if (op.kind === 'radio') { if (!el.checked) { el.click(); } }" +
+        "  else if (op.kind === 'select') {" +
+        "    var found = false;" +
+        "    for (var j = 0; j < el.options.length; j++) {" +
+        "      var option = el.options[j];" +
+        "      if (option.value === op.value || option.text.trim() === op.value) {" +
+        "        el.selectedIndex = j; found = true; break;" +
+        "      }" +
+        "    }" +
+        "    if (!found) { missing.push(i); continue; }" +
+        "    fire(el, 'input'); fire(el, 'change');" +
+        "  }" +
+        "}" +
+        "return missing;";
+
+    private final JavascriptExecutor js;
+    private final Function<By, WebElement> elementResolver;
+    private final Runnable beforeApply;
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<Operation> typedOperations = new ArrayList<>();
+    private boolean typeText;
+
+    /**
+     * @param elementResolver Waits for and resolves elements the script cannot locate itself
+     */
+    public FormBatch(JavascriptExecutor js, Function<By, WebElement> elementResolver) {
+        this(js, elementResolver, () -> { });
+    }
+
+    /**
+     * @param beforeApply Ordering barrier run before the changes are applied (e.g. flushing pending reads)
+     */
+    public FormBatch(JavascriptExecutor js, Function<By, WebElement> elementResolver, Runnable beforeApply) {
+        this.js = js;
+        this.elementResolver = elementResolver;
+        this.beforeApply = beforeApply;
+    }
+
+    /**
+     * Route every text() field to typed(), for forms whose fields must see real key events
+     */
+    public FormBatch typeText(boolean typeText) {
+        this.typeText = typeText;
+        return this;
+    }
+
+    /**
+     * Set text input / textarea / number value (typed with real keystrokes in typeText mode)
+     */
+    public FormBatch text(By locator, String text) {
+        return typeText ? typed(locator, text) : add("value", locator, text);
+    }
+
+    /**
+     * Type text with real keystrokes (clear + sendKeys) for fields that react to key events
+     */
+    public FormBatch typed(By locator, String text) {
+        typedOperations.add(new Operation("typed", locator, text));
+        return this;
+    }
+
+    /**
+     * Select radio button
+     */
+    public FormBatch radio(By locator) {
+        return add("radio", locator, Boolean.TRUE);
+    }
+
+    /**
+     * Check or uncheck checkbox
+     */
+    public FormBatch checkbox(By locator, boolean check) {
+        return add("check", locator, check);
+    }
+
+    /**
+     * Select dropdown option by value or visible text
+     */
+    public FormBatch select(By locator, String option) {
+        return add("select", locator, option);
+    }
+
+    /**
+     * Set range slider value
+     */
+    public FormBatch range(By locator, int value) {
+        return add("value", locator, String.valueOf(value));
+    }
+
+    /**
+     * Set date value (format: yyyy-MM-dd)
+     */
+    public FormBatch date(By locator, String date) {
+        return add("value", locator, date);
+    }
+
+    /**
+     * Set color value (format: #RRGGBB)
+     */
+    public FormBatch color(By locator, String color) {
+        return add("value", locator, color.toLowerCase());
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty() && typedOperations.isEmpty();
+    }
+
+    /**
+     * Apply all collected assignments - one driver roundtrip unless fields are typed or not yet rendered
+     */
+    public void apply() {
+        if (isEmpty()) {
+            return;
+        }
+        beforeApply.run();
+        if (!operations.isEmpty()) {
+            List<Operation> missing = run(operations, false);
+            if (!missing.isEmpty()) {
+                // Fields not rendered yet - wait for each of them and retry with resolved elements
+                missing = run(missing, true);
+            }
+            if (!missing.isEmpty()) {
+                throw new NoSuchElementException("Could not apply form values: " + missing);
+            }
+        }
+
+        for (Operation operation : typedOperations) {
+            WebElement element = elementResolver.apply(operation.locator);
+            element.clear();
+            element.sendKeys((String) operation.value);
+        }
+
+        operations.clear();
+        typedOperations.clear();
+    }
+
+    private FormBatch add(String kind, By locator, Object value) {
+        operations.add(new Operation(kind, locator, value));
+        return this;
+    }
+
+    private List<Operation> run(List<Operation> batch, boolean resolveElements) {
+        List<Map<String, Object>> payload = new ArrayList<>(batch.size());
+        for (Operation operation : batch) {
+            Map<String, Object> op = new HashMap<>();
+            op.put("kind", operation.kind);
+            op.put("value", operation.value);
+
+            JsLocator jsLocator = JsLocator.of(operation.locator);
+            if (resolveElements || jsLocator == null) {
+                op.put("element", elementResolver.apply(operation.locator));
+            } else {
+                op.put("using", jsLocator.getUsing());
+                op.put("locator", jsLocator.getValue());
+            }
+            payload.add(op);
+        }
+
+        List<Operation> missing = new ArrayList<>();
+        for (Object index : (List<?>) js.executeScript(APPLY_SCRIPT, payload)) {
+            missing.add(batch.get(((Number) index).intValue()));
+        }
+        return missing;
+    }
+
+    /**
+     * A single queued field assignment
+     */
+    private static class Operation {
+        private final String kind;
+        private final By locator;
+        private final Object value;
+
+        private Operation(String kind, By locator, Object value) {
+            this.kind = kind;
+            this.locator = locator;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + locator + " = " + value;
+        }
+    }
+}
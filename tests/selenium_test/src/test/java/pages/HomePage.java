@@ -6,8 +6,8 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * TryTestingThis website homepage
@@ -87,6 +87,11 @@ public class HomePage extends BasePage {
     
     // Table
     private final By tableLocator = By.xpath("//table");
+    private final TableReader tableReader;
+    private TableReader.Table tableSnapshot;
+    
+    // Form batch collecting changes between beginBatch() and applyBatch()
+    private FormBatch pendingBatch;
     
     /**
      * Constructor
@@ -94,6 +99,7 @@ public class HomePage extends BasePage {
     public HomePage(WebDriver driver, String baseUrl) {
         super(driver);
         this.HOME_URL = baseUrl;
+        this.tableReader = new TableReader(js);
     }
     
     /**
@@ -116,7 +122,7 @@ public class HomePage extends BasePage {
      * Navigate to contact page
      */
     public void navigateToContact() {
-        clickElement(contactLinkLocator);
+        clickAndWaitForNavigation(contactLinkLocator, ContactPage.class);
         System.out.println("Navigating to contact page");
     }
     
@@ -124,7 +130,7 @@ public class HomePage extends BasePage {
      * Navigate to homepage
      */
     public void navigateToHome() {
-        clickElement(homeLinkLocator);
+        clickAndWaitForNavigation(homeLinkLocator, HomePage.class);
         System.out.println("Navigating to homepage");
     }
     
@@ -147,12 +153,55 @@ public class HomePage extends BasePage {
         return getElementText(alertResultLocator);
     }
     
+    /**
+     * Start collecting form changes - form methods are queued until applyBatch()
+     */
+    public HomePage beginBatch() {
+        return beginBatch(false);
+    }
+    
+    /**
+     * Start collecting form changes
+     * @param typed Type text fields with real keystrokes (clear + sendKeys) instead of setting them by script
+     */
+    public HomePage beginBatch(boolean typed) {
+        pendingBatch = newFormBatch().typeText(typed);
+        return this;
+    }
+    
+    /**
+     * Apply all form changes queued since beginBatch() in one script call
+     */
+    public HomePage applyBatch() {
+        FormBatch batch = pendingBatch;
+        pendingBatch = null;
+        if (batch != null) {
+            batch.apply();
+            System.out.println("Applied batched form changes");
+        }
+        return this;
+    }
+    
+    /**
+     * Get the pending batch, or a new one applied immediately by submit()
+     */
+    private FormBatch formBatch() {
+        return pendingBatch != null ? pendingBatch : newFormBatch();
+    }
+    
+    private void submit(FormBatch batch) {
+        if (batch != pendingBatch) {
+            batch.apply();
+        }
+    }
+    
     /**
      * Fill user form
      */
     public HomePage fillUserForm(String firstName, String lastName) {
-        enterText(firstNameLocator, firstName);
-        enterText(lastNameLocator, lastName);
+        submit(formBatch()
+            .text(firstNameLocator, firstName)
+            .text(lastNameLocator, lastName));
         System.out.println("Filling form: " + firstName + " " + lastName);
         return this;
     }
@@ -171,27 +220,46 @@ public class HomePage extends BasePage {
         return getElementValue(lastNameLocator);
     }
     
+    /**
+     * Get first name asynchronously - pending reads are resolved together in one script call
+     */
+    public CompletableFuture<String> getFirstNameAsync() {
+        return reads().value(firstNameLocator);
+    }
+    
+    /**
+     * Get last name asynchronously
+     */
+    public CompletableFuture<String> getLastNameAsync() {
+        return reads().value(lastNameLocator);
+    }
+    
     /**
      * Select gender
      * @param gender Gender (male/female/other)
      */
     public HomePage selectGender(String gender) {
-        By genderLocator;
-        if (gender.equalsIgnoreCase("male")) {
-            genderLocator = maleRadioLocator;
-        } else if (gender.equalsIgnoreCase("female")) {
-            genderLocator = femaleRadioLocator;
-        } else if (gender.equalsIgnoreCase("other")) {
-            genderLocator = otherRadioLocator;
-        } else {
-            throw new IllegalArgumentException("Unsupported gender: " + gender);
-        }
-        
-        selectRadioButton(genderLocator);
+        submit(formBatch().radio(getGenderLocator(gender)));
         System.out.println("Selecting gender: " + gender);
         return this;
     }
 
+    /**
+     * Get radio button locator for gender
+     */
+    private By getGenderLocator(String gender) {
+        switch (gender.toLowerCase()) {
+            case "male":
+                return maleRadioLocator;
+            case "female":
+                return femaleRadioLocator;
+            case "other":
+                return otherRadioLocator;
+            default:
+                throw new IllegalArgumentException("Unsupported gender: " + gender);
+        }
+    }
+
     /**
      * Check if gender is selected
      */
@@ -207,6 +275,13 @@ public class HomePage extends BasePage {
         return isRadioButtonSelected(genderLocator);
     }
     
+    /**
+     * Check if gender is selected, asynchronously
+     */
+    public CompletableFuture<Boolean> isGenderSelectedAsync(String gender) {
+        return reads().selected(getGenderLocator(gender));
+    }
+    
     /**
      * Get checkbox locator
      */
@@ -228,6 +303,13 @@ public class HomePage extends BasePage {
     public boolean isCheckboxSelected(By locator) {
         return super.isCheckboxSelected(locator);
     }
+    
+    /**
+     * Check if checkbox is selected, asynchronously
+     */
+    public CompletableFuture<Boolean> isCheckboxSelectedAsync(By locator) {
+        return reads().selected(locator);
+    }
 
     /**
      * Get quantity
@@ -236,6 +318,13 @@ public class HomePage extends BasePage {
         return getElementValue(quantityLocator);
     }
     
+    /**
+     * Get quantity asynchronously
+     */
+    public CompletableFuture<String> getQuantityAsync() {
+        return reads().value(quantityLocator);
+    }
+    
     /**
      * Click alert button
      */
@@ -299,8 +388,10 @@ public class HomePage extends BasePage {
      * @return true if drag and drop was successful
      */
     public boolean isDragDropSuccessful() {
-        WebElement target = waitForElementVisible(dropTargetLocator);
-        
+        return withElement(dropTargetLocator, this::isDropTargetChanged);
+    }
+
+    private boolean isDropTargetChanged(WebElement target) {
         try {
             // Method 1: Check target area style changes
             String style = target.getAttribute("style");
@@ -321,6 +412,8 @@ public class HomePage extends BasePage {
             }
             
             return false;
+        } catch (StaleElementReferenceException e) {
+            throw e;
         } catch (Exception e) {
             System.out.println("Drag and drop verification exception: " + e.getMessage());
             return false;
@@ -331,45 +424,26 @@ public class HomePage extends BasePage {
      * Check if drag and drop was successful
      */
     public boolean isDragAndDropSuccessful() {
-        WebElement dropTarget = waitForElementVisible(dropTargetLocator);
-        try {
-            // Check if target container contains the dragged element
-            return dropTarget.findElements(By.xpath("./*")).size() > 0;
-        } catch (Exception e) {
-            return false;
-        }
+        // Check if target container contains the dragged element
+        return withElement(dropTargetLocator, dropTarget -> {
+            try {
+                return dropTarget.findElements(By.xpath("./*")).size() > 0;
+            } catch (StaleElementReferenceException e) {
+                throw e;
+            } catch (Exception e) {
+                return false;
+            }
+        });
     }
     
     /**
-     * Select option from dropdown - fully refactored version
+     * Select option from dropdown
      * @param option Option text
      */
     public HomePage selectDropdownOption(String option) {
-        try {
-            // First try to wait for element to be visible
-            WebElement dropdown = waitForElementVisible(singleSelectLocator);
-            
-            // Directly use JavaScript to perform selection, which is usually more reliable
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            js.executeScript(
-                "arguments[0].value = arguments[1]; " +
-                "var event = new Event('change'); " +
-                "arguments[0].dispatchEvent(event);", 
-                dropdown, option.toLowerCase());
-            
-            System.out.println("Successfully selected dropdown option using JavaScript: " + option);
-        } catch (Exception e) {
-            // If JavaScript method fails, try standard method
-            try {
-                Select select = new Select(driver.findElement(singleSelectLocator));
-                select.selectByVisibleText(option);
-                System.out.println("Successfully selected dropdown option using Select API: " + option);
-            } catch (Exception inner) {
-                System.err.println("Could not select dropdown option: " + option + ", error: " + inner.getMessage());
-                throw inner; // Re-throw exception to fail the test
-            }
-        }
-        
+        // Options are matched by value (lower case) or visible text, change event is dispatched in-page
+        submit(formBatch().select(singleSelectLocator, option.toLowerCase()));
+        System.out.println("Selecting dropdown option: " + option);
         return this;
     }
 
@@ -392,23 +466,10 @@ public class HomePage extends BasePage {
      * @param gender Gender
      */
     public HomePage fillMainForm(String firstName, String lastName, String gender) {
-        enterText(firstNameLocator, firstName);
-        enterText(lastNameLocator, lastName);
-        
-        // Select gender
-        switch (gender.toLowerCase()) {
-            case "male":
-                selectRadioButton(maleRadioLocator);
-                break;
-            case "female":
-                selectRadioButton(femaleRadioLocator);
-                break;
-            case "other":
-                selectRadioButton(otherRadioLocator);
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported gender: " + gender);
-        }
+        submit(formBatch()
+            .text(firstNameLocator, firstName)
+            .text(lastNameLocator, lastName)
+            .radio(getGenderLocator(gender)));
         
         System.out.println("Filling main form: firstName=" + firstName + ", lastName=" + lastName + ", gender=" + gender);
         return this;
@@ -441,21 +502,22 @@ public class HomePage extends BasePage {
      */
     protected String getSelectedDropdownOptionText(By locator) {
         try {
-            // Try standard Select method
-            WebElement element = waitForElementVisible(locator);
-            Select select = new Select(element);
-            return select.getFirstSelectedOption().getText();
+            // Resolve the dropdown once and reuse it for the JavaScript fallback
+            return withElement(locator, element -> {
+                try {
+                    // Try standard Select method
+                    return new Select(element).getFirstSelectedOption().getText();
+                } catch (StaleElementReferenceException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // Try JavaScript method
+                    return (String) js.executeScript(
+                        "return arguments[0].options[arguments[0].selectedIndex].text", element);
+                }
+            });
         } catch (Exception e) {
-            // Try JavaScript method
-            try {
-                WebElement element = waitForElementVisible(locator);
-                JavascriptExecutor js = (JavascriptExecutor) driver;
-                return (String) js.executeScript(
-                    "return arguments[0].options[arguments[0].selectedIndex].text", element);
-            } catch (Exception e2) {
-                System.err.println("Could not get dropdown option: " + e2.getMessage());
-                return ""; // Return empty string instead of throwing exception
-            }
+            System.err.println("Could not get dropdown option: " + e.getMessage());
+            return ""; // Return empty string instead of throwing exception
         }
     }
 
@@ -466,6 +528,13 @@ public class HomePage extends BasePage {
         return getSelectedDropdownOptionText(singleSelectLocator);
     }
     
+    /**
+     * Get selected option text asynchronously
+     */
+    public CompletableFuture<String> getSelectedOptionAsync() {
+        return reads().selectedOptionText(singleSelectLocator);
+    }
+    
     /**
      * Select checkboxes
      * @param option1 Whether to select option 1
@@ -473,9 +542,10 @@ public class HomePage extends BasePage {
      * @param option3 Whether to select option 3
      */
     public HomePage selectCheckboxes(boolean option1, boolean option2, boolean option3) {
-        checkCheckbox(option1CheckboxLocator, option1);
-        checkCheckbox(option2CheckboxLocator, option2);
-        checkCheckbox(option3CheckboxLocator, option3);
+        submit(formBatch()
+            .checkbox(option1CheckboxLocator, option1)
+            .checkbox(option2CheckboxLocator, option2)
+            .checkbox(option3CheckboxLocator, option3));
         
         System.out.println("Selecting checkboxes: option1=" + option1 + ", option2=" + option2 + ", option3=" + option3);
         return this;
@@ -486,7 +556,7 @@ public class HomePage extends BasePage {
      * @param option Option text
      */
     public HomePage selectDatalistOption(String option) {
-        enterText(datalistInputLocator, option);
+        submit(formBatch().text(datalistInputLocator, option));
         System.out.println("Selecting datalist option: " + option);
         return this;
     }
@@ -496,8 +566,7 @@ public class HomePage extends BasePage {
      * @param colorValue Color value (format: #RRGGBB)
      */
     public HomePage selectColor(String colorValue) {
-        WebElement colorPicker = waitForElementVisible(colorPickerLocator);
-        js.executeScript("arguments[0].value = arguments[1]", colorPicker, colorValue);
+        submit(formBatch().color(colorPickerLocator, colorValue));
         System.out.println("Selecting color: " + colorValue);
         return this;
     }
@@ -507,8 +576,7 @@ public class HomePage extends BasePage {
      * @param dateValue Date value (format: yyyy-MM-dd)
      */
     public HomePage selectDate(String dateValue) {
-        WebElement datePicker = waitForElementVisible(datePickerLocator);
-        js.executeScript("arguments[0].value = arguments[1]", datePicker, dateValue);
+        submit(formBatch().date(datePickerLocator, dateValue));
         System.out.println("Selecting date: " + dateValue);
         return this;
     }
@@ -518,14 +586,9 @@ public class HomePage extends BasePage {
      * @param value Slider value
      */
     public HomePage setRangeSlider(int value) {
-        WebElement slider = waitForElementVisible(rangeSliderLocator);
-        js.executeScript("arguments[0].value = arguments[1]", slider, value);
+        // Input event is dispatched in-page to update the output
+        submit(formBatch().range(rangeSliderLocator, value));
         
-        // Trigger oninput event to update output
-        js.executeScript(
-            "var event = new Event('input', { 'bubbles': true, 'cancelable': true });" +
-            "arguments[0].dispatchEvent(event);", slider);
-            
         System.out.println("Setting range slider value: " + value);
         return this;
     }
@@ -545,9 +608,7 @@ public class HomePage extends BasePage {
      * @param quantity Quantity value
      */
     public HomePage setQuantity(int quantity) {
-        WebElement quantityInput = waitForElementVisible(quantityLocator);
-        quantityInput.clear();
-        quantityInput.sendKeys(String.valueOf(quantity));
+        submit(formBatch().text(quantityLocator, String.valueOf(quantity)));
         System.out.println("Setting quantity: " + quantity);
         return this;
     }
@@ -557,7 +618,7 @@ public class HomePage extends BasePage {
      * @param text Text content
      */
     public HomePage enterTextareaContent(String text) {
-        enterText(textareaLocator, text);
+        submit(formBatch().text(textareaLocator, text));
         System.out.println("Entering textarea content: " + text);
         return this;
     }
@@ -568,11 +629,18 @@ public class HomePage extends BasePage {
         return getElementValue(textareaLocator);
     }
     
+    /**
+     * Get textarea content asynchronously
+     */
+    public CompletableFuture<String> getTextareaContentAsync() {
+        return reads().value(textareaLocator);
+    }
+    
     /**
      * Click contact link
      */
     public void clickContactLink() {
-        clickElement(contactLinkLocator);
+        clickAndWaitForNavigation(contactLinkLocator, ContactPage.class);
         System.out.println("Clicking contact page link");
     }
 
@@ -592,30 +660,39 @@ public class HomePage extends BasePage {
         driver.switchTo().window(currentWindow);
     }
     
+    /**
+     * Get table snapshot - extracted in one script call and reused until the document is replaced
+     */
+    public TableReader.Table getTable() {
+        if (tableSnapshot == null) {
+            tableSnapshot = withElement(tableLocator, tableReader::read);
+        }
+        return tableSnapshot;
+    }
+    
+    /**
+     * The table snapshot belongs to the document as much as the cached elements do
+     */
+    @Override
+    protected void invalidateElementCache() {
+        super.invalidateElementCache();
+        tableSnapshot = null;
+    }
+    
+    /**
+     * Discard the cached table snapshot so the next query reads the table again
+     */
+    public HomePage refreshTable() {
+        tableSnapshot = null;
+        return this;
+    }
+    
     /**
      * Get table data
      * @return Table data list (each row is a string array)
      */
     public List<String[]> getTableData() {
-        WebElement table = waitForElementVisible(tableLocator);
-        List<WebElement> rows = table.findElements(By.xpath(".//tbody/tr"));
-        
-        List<String[]> tableData = new ArrayList<>();
-        
-        // Skip header row
-        for (int i = 1; i < rows.size(); i++) {
-            WebElement row = rows.get(i);
-            List<WebElement> cells = row.findElements(By.tagName("td"));
-            
-            String[] rowData = new String[cells.size()];
-            for (int j = 0; j < cells.size(); j++) {
-                rowData[j] = cells.get(j).getText();
-            }
-            
-            tableData.add(rowData);
-        }
-        
-        return tableData;
+        return getTable().getRows();
     }
     
     /**
@@ -623,15 +700,7 @@ public class HomePage extends BasePage {
      * @return Table header array
      */
     public String[] getTableHeaders() {
-        WebElement table = waitForElementVisible(tableLocator);
-        List<WebElement> headers = table.findElements(By.xpath(".//tbody/tr[1]/th"));
-        
-        String[] headerTexts = new String[headers.size()];
-        for (int i = 0; i < headers.size(); i++) {
-            headerTexts[i] = headers.get(i).getText();
-        }
-        
-        return headerTexts;
+        return getTable().getHeaders();
     }
     
     /**
@@ -641,23 +710,14 @@ public class HomePage extends BasePage {
      * @return true if matching data is found
      */
     public boolean isValueInTable(int columnIndex, String value) {
-        List<String[]> tableData = getTableData();
-        
-        for (String[] row : tableData) {
-            if (columnIndex < row.length && row[columnIndex].equals(value)) {
-                return true;
-            }
-        }
-        
-        return false;
+        return getTable().containsValue(columnIndex, value);
     }
     
     /**
      * Perform double click
      */
     public HomePage performDoubleClick() {
-        WebElement doubleClickButton = waitForElementVisible(doubleClickButtonLocator);
-        actions.doubleClick(doubleClickButton).perform();
+        doubleClickElement(doubleClickButtonLocator);
         System.out.println("Performing double click");
         return this;
     }
@@ -673,9 +733,12 @@ public class HomePage extends BasePage {
      * Perform drag and drop
      */
     public HomePage performDragAndDrop() {
-        WebElement source = waitForElementVisible(dragSourceLocator);
-        WebElement target = waitForElementVisible(dropTargetLocator);
-        
+        withElements(dragSourceLocator, dropTargetLocator, this::dragAndDropElements);
+        System.out.println("Performing drag and drop operation");
+        return this;
+    }
+
+    private Void dragAndDropElements(WebElement source, WebElement target) {
         try {
             // Try using standard Actions API
             actions.dragAndDrop(source, target).perform();
@@ -695,17 +758,14 @@ public class HomePage extends BasePage {
             
             js.executeScript(jsScript, source, target);
         }
-        
-        System.out.println("Performing drag and drop operation");
-        return this;
+        return null;
     }
     
     /**
      * Hover over tooltip
      */
     public HomePage hoverOverTooltip() {
-        WebElement tooltip = waitForElementVisible(tooltipLocator);
-        actions.moveToElement(tooltip).perform();
+        hoverElement(tooltipLocator);
         System.out.println("Hovering over tooltip");
         return this;
     }
@@ -0,0 +1,92 @@
+package pages;
+
+import org.openqa.selenium.By;
+
+/**
+ * Translates a Selenium locator into arguments for the in-page {@link #FIND_FUNCTION},
+ * so scripts can resolve elements themselves instead of paying a findElement roundtrip
+ */
+final class JsLocator {
+    /**
+     * In-page equivalent of findElement for the W3C locator strategies - returns the first match or null
+     */
+    static final String FIND_FUNCTION =
+        "function findFirst(using, value) {" +
+        "  if (using === 'css selector') { return document.querySelector(value); }" +
+        "  if (using === 'xpath') {" +
+        "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+        "  }" +
+        "  if (using === 'tag name') { return document.getElementsByTagName(value)[0] || null; }" +
+        "  var links = document.getElementsByTagName('a');" +
+        "  for (var i = 0; i < links.length; i++) {" +
+        "    var text = links[i].innerText.trim();" +
+        "    if ((using === 'link text' && text === value) || (using === 'partial link text' && text.indexOf(value) >= 0)) {" +
+        "      return links[i];" +
+        "    }" +
+        "  }" +
+        "  return null;" +
+        "}";
+
+    /**
+     * In-page approximation of WebElement.isDisplayed
+     */
+    static final String VISIBLE_FUNCTION =
+        "function isVisible(el) {" +
+        "  if (!el || !el.isConnected) { return false; }" +
+        "  var style = window.getComputedStyle(el);" +
+        "  if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) { return false; }" +
+        "  var rect = el.getBoundingClientRect();" +
+        "  return rect.width > 0 && rect.height > 0;" +
+        "}";
+
+    private final String using;
+    private final String value;
+
+    private JsLocator(String using, String value) {
+        this.using = using;
+        this.value = value;
+    }
+
+    /**
+     * Convert a locator, or return null when it cannot be resolved in the page
+     */
+    static JsLocator of(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        if (!(parameters.value() instanceof String)) {
+            return null;
+        }
+        String value = (String) parameters.value();
+        switch (parameters.using()) {
+            // Legacy strategies the driver translates to CSS - do the same here
+            case "id":
+                return new JsLocator("css selector", "[id=\"" + cssString(value) + "\"]");
+            case "name":
+                return new JsLocator("css selector", "[name=\"" + cssString(value) + "\"]");
+            case "class name":
+                return new JsLocator("css selector", "[class~=\"" + cssString(value) + "\"]");
+            case "css selector":
+            case "xpath":
+            case "tag name":
+            case "link text":
+            case "partial link text":
+                return new JsLocator(parameters.using(), value);
+            default:
+                return null;
+        }
+    }
+
+    private static String cssString(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    String getUsing() {
+        return using;
+    }
+
+    String getValue() {
+        return value;
+    }
+}
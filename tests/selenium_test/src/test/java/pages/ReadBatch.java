@@ -0,0 +1,223 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Collects element reads and resolves them all in a single script execution - the read-side counterpart
+ * of {@link FormBatch}. Each read returns a future completed when the batch runs: on the first join()/get()
+ * of any of its futures, or when the page flushes pending reads before its next command.
+ * Combine results with thenApply/thenCombine, which stay attached to the batch - CompletableFuture.allOf
+ * does not trigger the flush.
+ */
+public class ReadBatch {
+    private static final String READ_SCRIPT =
+        "var reads = arguments[0], results = [];" +
+        JsLocator.FIND_FUNCTION +
+        "for (var i = 0; i < reads.length; i++) {" +
+        "  var read = reads[i];" +
+        "  var el = read.element || findFirst(read.using, read.locator);" +
+        "  if (!el) { results.push({missing: true}); continue; }" +
+        "  var value = null;" +
+        "  if (read.kind === 'value') { value = el.value === undefined ? el.getAttribute('value') : String(el.value); }" +
+        "  else if (read.kind === 'text') { value = (el.innerText || '').trim(); }" +
+        "  else if (read.kind === 'selected') { value = !!(el.checked || el.selected); }" +
+        "  else if (read.kind === 'selectedText') {" +
+        "    var option = el.options ? el.options[el.selectedIndex] : null;" +
+        "    value = option ? option.text.trim() : '';" +
+        "  }" +
+        "  else if (read.kind === 'attribute') {" +
+        "    var property = el[read.name];" +
+        "    value = property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function'" +
+        "      ? String(property) : el.getAttribute(read.name);" +
+        "  }" +
+        "  results.push({value: value});" +
+        "}" +
+        "return results;";
+
+    private final JavascriptExecutor js;
+    private final Function<By, WebElement> elementResolver;
+    private final List<Read<?>> reads = new ArrayList<>();
+
+    /**
+     * @param elementResolver Waits for and resolves elements the script cannot find yet
+     */
+    public ReadBatch(JavascriptExecutor js, Function<By, WebElement> elementResolver) {
+        this.js = js;
+        this.elementResolver = elementResolver;
+    }
+
+    /**
+     * Read the value of an input, textarea or select
+     */
+    public CompletableFuture<String> value(By locator) {
+        return add("value", locator, null, String.class::cast);
+    }
+
+    /**
+     * Read the rendered text of an element
+     */
+    public CompletableFuture<String> text(By locator) {
+        return add("text", locator, null, String.class::cast);
+    }
+
+    /**
+     * Read whether a checkbox / radio button is checked or an option is selected
+     */
+    public CompletableFuture<Boolean> selected(By locator) {
+        return add("selected", locator, null, Boolean.TRUE::equals);
+    }
+
+    /**
+     * Read the text of the selected option of a dropdown
+     */
+    public CompletableFuture<String> selectedOptionText(By locator) {
+        return add("selectedText", locator, null, String.class::cast);
+    }
+
+    /**
+     * Read an attribute (or the property of the same name, like WebElement.getAttribute)
+     */
+    public CompletableFuture<String> attribute(By locator, String name) {
+        return add("attribute", locator, name, value -> value != null ? String.valueOf(value) : null);
+    }
+
+    public boolean isEmpty() {
+        return reads.isEmpty();
+    }
+
+    /**
+     * Run all pending reads and complete their futures - one driver roundtrip unless elements are not rendered yet
+     */
+    public void flush() {
+        if (reads.isEmpty()) {
+            return;
+        }
+        List<Read<?>> batch = new ArrayList<>(reads);
+        reads.clear();
+        try {
+            List<Read<?>> missing = run(batch, false);
+            if (!missing.isEmpty()) {
+                // Elements not rendered yet - wait for each of them and retry with resolved elements
+                missing = run(missing, true);
+            }
+            for (Read<?> read : missing) {
+                read.future.completeExceptionally(new NoSuchElementException("Could not read " + read));
+            }
+        } catch (RuntimeException e) {
+            for (Read<?> read : batch) {
+                read.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> add(String kind, By locator, String name, Function<Object, T> converter) {
+        BatchFuture<T> future = new BatchFuture<>(this);
+        reads.add(new Read<>(kind, locator, name, converter, future));
+        return future;
+    }
+
+    private List<Read<?>> run(List<Read<?>> batch, boolean resolveElements) {
+        List<Map<String, Object>> payload = new ArrayList<>(batch.size());
+        for (Read<?> read : batch) {
+            Map<String, Object> op = new HashMap<>();
+            op.put("kind", read.kind);
+            op.put("name", read.name);
+
+            JsLocator jsLocator = JsLocator.of(read.locator);
+            if (resolveElements || jsLocator == null) {
+                op.put("element", elementResolver.apply(read.locator));
+            } else {
+                op.put("using", jsLocator.getUsing());
+                op.put("locator", jsLocator.getValue());
+            }
+            payload.add(op);
+        }
+
+        List<Read<?>> missing = new ArrayList<>();
+        List<?> results = (List<?>) js.executeScript(READ_SCRIPT, payload);
+        for (int i = 0; i < batch.size(); i++) {
+            Map<?, ?> result = (Map<?, ?>) results.get(i);
+            if (Boolean.TRUE.equals(result.get("missing"))) {
+                missing.add(batch.get(i));
+            } else {
+                batch.get(i).complete(result.get("value"));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * A single queued read
+     */
+    private static class Read<T> {
+        private final String kind;
+        private final By locator;
+        private final String name;
+        private final Function<Object, T> converter;
+        private final CompletableFuture<T> future;
+
+        private Read(String kind, By locator, String name, Function<Object, T> converter, CompletableFuture<T> future) {
+            this.kind = kind;
+            this.locator = locator;
+            this.name = name;
+            this.converter = converter;
+            this.future = future;
+        }
+
+        private void complete(Object value) {
+            future.complete(converter.apply(value));
+        }
+
+        @Override
+        public String toString() {
+            return kind + (name != null ? " " + name : "") + " of " + locator;
+        }
+    }
+
+    /**
+     * Future that runs its batch when a caller starts waiting on it (or on a stage derived from it)
+     */
+    private static class BatchFuture<T> extends CompletableFuture<T> {
+        private final ReadBatch batch;
+
+        private BatchFuture(ReadBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new BatchFuture<>(batch);
+        }
+
+        @Override
+        public T join() {
+            batch.flush();
+            return super.join();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            batch.flush();
+            return super.get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            batch.flush();
+            return super.get(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a whole HTML table (headers + body) in a single script execution
+ */
+public class TableReader {
+    private static final String EXTRACT_SCRIPT =
+        "var headers = [], rows = [];" +
+        "var trs = arguments[0].querySelectorAll('tr');" +
+        "for (var i = 0; i < trs.length; i++) {" +
+        "  var cells = trs[i].children, ths = [], tds = [];" +
+        "  for (var j = 0; j < cells.length; j++) {" +
+        "    var text = cells[j].innerText.trim();" +
+        "    if (cells[j].tagName === 'TH') { ths.push(text); }" +
+        "    else if (cells[j].tagName === 'TD') { tds.push(text); }" +
+        "  }" +
+        "  if (tds.length > 0) { rows.push(tds); }" +
+        "  else if (ths.length > 0 && headers.length === 0) { headers = ths; }" +
+        "}" +
+        "return {headers: headers, rows: rows};";
+
+    private final JavascriptExecutor js;
+
+    public TableReader(JavascriptExecutor js) {
+        this.js = js;
+    }
+
+    /**
+     * Extract the table in one driver roundtrip
+     */
+    @SuppressWarnings("unchecked")
+    public Table read(WebElement table) {
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(EXTRACT_SCRIPT, table);
+        List<String> headers = (List<String>) result.get("headers");
+        List<List<String>> rows = (List<List<String>>) result.get("rows");
+        return new Table(headers.toArray(new String[0]), rows);
+    }
+
+    /**
+     * Immutable, column-oriented table snapshot with indexed value lookup
+     */
+    public static class Table {
+        private final String[] headers;
+        private final String[][] columns;
+        private final int rowCount;
+        private final int[] rowLengths;
+        private final Map<Integer, Set<String>> columnIndex = new HashMap<>();
+
+        Table(String[] headers, List<List<String>> rows) {
+            this.headers = headers;
+            this.rowCount = rows.size();
+
+            int columnCount = headers.length;
+            for (List<String> row : rows) {
+                columnCount = Math.max(columnCount, row.size());
+            }
+
+            this.columns = new String[columnCount][rowCount];
+            this.rowLengths = new int[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                List<String> row = rows.get(r);
+                rowLengths[r] = row.size();
+                for (int c = 0; c < row.size(); c++) {
+                    columns[c][r] = row.get(c);
+                }
+            }
+        }
+
+        public String[] getHeaders() {
+            return headers.clone();
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Get all values of a column (top to bottom)
+         */
+        public List<String> getColumn(int columnIndex) {
+            if (columnIndex < 0 || columnIndex >= columns.length) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(Arrays.asList(columns[columnIndex]));
+        }
+
+        /**
+         * Rebuild the row-oriented view (each row is a string array)
+         */
+        public List<String[]> getRows() {
+            List<String[]> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                String[] row = new String[rowLengths[r]];
+                for (int c = 0; c < row.length; c++) {
+                    row[c] = columns[c][r];
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        /**
+         * Check whether a column contains a value - O(1) after the column's index is built
+         */
+        public synchronized boolean containsValue(int columnIndex, String value) {
+            if (columnIndex < 0 || columnIndex >= columns.length) {
+                return false;
+            }
+            return this.columnIndex
+                .computeIfAbsent(columnIndex, c -> new HashSet<>(Arrays.asList(columns[c])))
+                .contains(value);
+        }
+    }
+}
@@ -1,22 +1,28 @@
 package pages;
 
+import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.UnhandledAlertException;
 import java.time.Duration;
+import java.util.BitSet;
 
 /**
  * VulnWeb Login Page Class
  */
 public class VulnWebLoginPage extends BasePage {
+    // Navigation timing
+    private static final Duration NAVIGATION_TIMEOUT = Duration.ofSeconds(10);
+    private static final long RETRY_BASE_DELAY_MS = 250;
+    private static final long RETRY_MAX_DELAY_MS = 2000;
+    
     // URL
     private final String BASE_URL;
     private final String LOGIN_URL;
+    private final String USER_INFO_URL;
     
     // Login form elements - using multiple locator strategies
     private final By usernameLocator = By.name("uname");
@@ -40,23 +46,35 @@ public class VulnWebLoginPage extends BasePage {
         super(driver);
         this.BASE_URL = baseUrl;
         this.LOGIN_URL = baseUrl + "/login.php";
+        this.USER_INFO_URL = baseUrl + "/userinfo.php";
     }
     
     /**
-     * Handle unexpected alerts
+     * Handle unexpected alerts - checks once instead of waiting for one to appear
      */
     private void handleAlert() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(2));
-            wait.until(ExpectedConditions.alertIsPresent());
-            String alertText = driver.switchTo().alert().getText();
-            driver.switchTo().alert().accept();
+            Alert alert = driver.switchTo().alert();
+            String alertText = alert.getText();
+            alert.accept();
             System.out.println("Handled unexpected alert: " + alertText);
-        } catch (NoAlertPresentException | TimeoutException e) {
+        } catch (NoAlertPresentException e) {
             // No alert present - that's fine
         }
     }
     
+    /**
+     * Back off exponentially before the next retry
+     */
+    private void backoff(int attempt) {
+        long delay = Math.min(RETRY_BASE_DELAY_MS << (attempt - 1), RETRY_MAX_DELAY_MS);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
     /**
      * Wait for element with alternative locator
      */
@@ -80,7 +98,7 @@ public class VulnWebLoginPage extends BasePage {
             try {
                 handleAlert();
                 System.out.println("Opening login page (attempt " + attempt + "): " + LOGIN_URL);
-                driver.get(LOGIN_URL);
+                open(LOGIN_URL);
                 handleAlert();
                 
                 // Wait for page to load by checking for login form
@@ -99,16 +117,23 @@ public class VulnWebLoginPage extends BasePage {
                 }
             }
             
-            // Small delay before retry
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
+            if (attempt < 3) {
+                backoff(attempt);
             }
         }
         return this;
     }
     
+    /**
+     * Open user info page directly (e.g. after restoring a cached session)
+     */
+    public VulnWebLoginPage openUserInfoPage() {
+        handleAlert();
+        open(USER_INFO_URL);
+        System.out.println("Opening user info page: " + USER_INFO_URL);
+        return this;
+    }
+    
     /**
      * Perform login with retries
      */
@@ -119,8 +144,10 @@ public class VulnWebLoginPage extends BasePage {
                 handleAlert();
                 System.out.println("Login attempt " + attempt + ": " + username + "/" + password);
                 
-                // Clear cookies and storage to avoid state issues
-                driver.manage().deleteAllCookies();
+                // Clear cookies on retries to avoid state issues left by the failed attempt
+                if (attempt > 1) {
+                    driver.manage().deleteAllCookies();
+                }
                 
                 // Find elements with fallback strategies
                 WebElement usernameField = waitWithAlternatives(usernameLocator, altUsernameLocator);
@@ -133,16 +160,12 @@ public class VulnWebLoginPage extends BasePage {
                 passwordField.clear();
                 passwordField.sendKeys(password);
                 
+                markCurrentDocument();
                 loginButton.click();
                 System.out.println("Login submitted");
-                handleAlert();
                 
-                // Wait a moment for the login to process
-                try {
-                    Thread.sleep(2000);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                }
+                // Wait until the next page is ready, accepting alerts on the way
+                waitForNavigation(NAVIGATION_TIMEOUT, userInfoHeadingLocator, logoutLinkLocator);
                 
                 // Verify login was successful
                 if (isLoggedIn()) {
@@ -162,6 +185,7 @@ public class VulnWebLoginPage extends BasePage {
             
             // If not successful and not the last attempt, reload the page
             if (attempt < 3) {
+                backoff(attempt);
                 try {
                     openLoginPage();
                 } catch (Exception e) {
@@ -181,16 +205,12 @@ public class VulnWebLoginPage extends BasePage {
             
             if (isLoggedIn()) {
                 WebElement logoutLink = waitForElementVisible(logoutLinkLocator);
+                markCurrentDocument();
                 logoutLink.click();
                 System.out.println("Performing logout");
-                handleAlert();
                 
-                // Small delay after logout
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                // Wait until the logged-out page is ready, accepting alerts on the way
+                waitForNavigation(NAVIGATION_TIMEOUT, logoutMessageLocator, usernameLocator);
             } else {
                 System.out.println("Not logged in, cannot logout");
             }
@@ -221,17 +241,14 @@ public class VulnWebLoginPage extends BasePage {
             }
             
             try {
-                hasUserInfo = isElementPresent(userInfoHeadingLocator);
+                // Both checks in one call - absent elements return at once instead of waiting out the implicit wait
+                BitSet present = findPresent(userInfoHeadingLocator, logoutLinkLocator);
+                hasUserInfo = present.get(0);
+                hasLogoutLink = present.get(1);
             } catch (Exception e) {
                 System.out.println("User info verification error: " + e.getMessage());
             }
             
-            try {
-                hasLogoutLink = isElementPresent(logoutLinkLocator);
-            } catch (Exception e) {
-                System.out.println("Logout link verification error: " + e.getMessage());
-            }
-            
             System.out.println("Login verification: Correct URL=" + correctUrl + 
                               ", Found user info=" + hasUserInfo + 
                               ", Found logout link=" + hasLogoutLink);
@@ -259,9 +276,11 @@ public class VulnWebLoginPage extends BasePage {
             boolean hasLoginForm = false;
             
             try {
-                hasLogoutMessage = isElementPresent(logoutMessageLocator);
+                BitSet present = findPresent(logoutMessageLocator, usernameLocator, passwordLocator);
+                hasLogoutMessage = present.get(0);
+                hasLoginForm = present.get(1) && present.get(2);
             } catch (Exception e) {
-                System.out.println("Logout message verification error: " + e.getMessage());
+                System.out.println("Logout page verification error: " + e.getMessage());
             }
             
             try {
@@ -271,12 +290,6 @@ public class VulnWebLoginPage extends BasePage {
                 System.out.println("URL verification error: " + e.getMessage());
             }
             
-            try {
-                hasLoginForm = isElementPresent(usernameLocator) && isElementPresent(passwordLocator);
-            } catch (Exception e) {
-                System.out.println("Login form verification error: " + e.getMessage());
-            }
-            
             System.out.println("Logout verification: Found logout message=" + hasLogoutMessage + 
                               ", On login page=" + isLoginPage + 
                               ", Has login form=" + hasLoginForm);
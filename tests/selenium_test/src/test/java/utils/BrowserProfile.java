@@ -0,0 +1,263 @@
+package utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Browser launch profiles, selected with the "browserProfile" configuration key:
+ * fast-ci (headless, no images, eager page load), fidelity (real rendering, like a user's browser)
+ * and low-memory (fast-ci plus process and cache limits, to pack more sessions per host)
+ */
+public enum BrowserProfile {
+    FAST_CI("fast-ci", true, PageLoadStrategy.EAGER, false, 1366, 768),
+    FIDELITY("fidelity", false, PageLoadStrategy.NORMAL, true, 1920, 1080),
+    LOW_MEMORY("low-memory", true, PageLoadStrategy.EAGER, false, 1280, 720);
+
+    private static final String USER_DATA_DIR_ARGUMENT = "--user-data-dir=";
+    // Profile copies not deleted yet - each is deleted when its session quits, DriverShutdown sweeps the rest
+    private static final Set<Path> userDataDirs = ConcurrentHashMap.newKeySet();
+
+    private final String profileName;
+    private final boolean forceHeadless;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final boolean imagesEnabled;
+    private final int windowWidth;
+    private final int windowHeight;
+
+    BrowserProfile(String profileName, boolean forceHeadless, PageLoadStrategy pageLoadStrategy,
+                   boolean imagesEnabled, int windowWidth, int windowHeight) {
+        this.profileName = profileName;
+        this.forceHeadless = forceHeadless;
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.imagesEnabled = imagesEnabled;
+        this.windowWidth = windowWidth;
+        this.windowHeight = windowHeight;
+    }
+
+    /**
+     * Get profile by its configuration name (fast-ci / fidelity / low-memory)
+     */
+    public static BrowserProfile fromName(String name) {
+        for (BrowserProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown browser profile: " + name +
+            " (expected one of fast-ci, fidelity, low-memory)");
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Whether browsers launched with this profile run headless
+     */
+    public boolean isHeadless(ConfigReader config) {
+        return forceHeadless || config.isHeadless();
+    }
+
+    /**
+     * Apply the profile to Chrome options
+     */
+    public void applyTo(ChromeOptions options, ConfigReader config) {
+        options.setPageLoadStrategy(resolvePageLoadStrategy(config));
+
+        if (isHeadless(config)) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--window-size=" + windowWidth + "," + windowHeight);
+
+        List<String> disabledFeatures = new ArrayList<>(Arrays.asList("Translate", "OptimizationHints", "MediaRouter"));
+        if (this != FIDELITY) {
+            options.addArguments(
+                "--disable-gpu",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync",
+                "--disable-client-side-phishing-detection",
+                "--disable-dev-shm-usage",
+                "--no-first-run",
+                "--no-default-browser-check",
+                "--metrics-recording-only",
+                "--mute-audio");
+        }
+        if (!imagesEnabled) {
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        if (this == LOW_MEMORY) {
+            options.addArguments(
+                "--renderer-process-limit=2",
+                "--disk-cache-size=1",
+                "--js-flags=--max-old-space-size=256",
+                "--disable-site-isolation-trials");
+            disabledFeatures.add("site-per-process");
+            disabledFeatures.add("BackForwardCache");
+        }
+        // Chrome only honours the last --disable-features switch, so pass them all at once
+        options.addArguments("--disable-features=" + String.join(",", disabledFeatures));
+
+        String template = config.getUserDataTemplate();
+        if (!template.isEmpty()) {
+            options.addArguments(USER_DATA_DIR_ARGUMENT + copyUserDataTemplate(Paths.get(template)));
+        }
+    }
+
+    /**
+     * Apply the profile to Firefox options and preferences
+     */
+    public void applyTo(FirefoxOptions options, FirefoxProfile profile, ConfigReader config) {
+        options.setPageLoadStrategy(resolvePageLoadStrategy(config));
+
+        if (isHeadless(config)) {
+            options.addArguments("--headless");
+        }
+        options.addArguments("--width=" + windowWidth, "--height=" + windowHeight);
+
+        if (this != FIDELITY) {
+            profile.setPreference("app.update.auto", false);
+            profile.setPreference("browser.shell.checkDefaultBrowser", false);
+            profile.setPreference("browser.startup.page", 0);
+            profile.setPreference("browser.safebrowsing.malware.enabled", false);
+            profile.setPreference("browser.safebrowsing.phishing.enabled", false);
+            profile.setPreference("datareporting.healthreport.uploadEnabled", false);
+            profile.setPreference("datareporting.policy.dataSubmissionEnabled", false);
+            profile.setPreference("toolkit.telemetry.enabled", false);
+            profile.setPreference("extensions.update.enabled", false);
+            profile.setPreference("network.prefetch-next", false);
+            profile.setPreference("network.dns.disablePrefetch", true);
+            profile.setPreference("layers.acceleration.disabled", true);
+            profile.setPreference("media.autoplay.default", 5);
+        }
+        if (!imagesEnabled) {
+            profile.setPreference("permissions.default.image", 2);
+        }
+        if (this == LOW_MEMORY) {
+            profile.setPreference("dom.ipc.processCount", 1);
+            profile.setPreference("fission.autostart", false);
+            profile.setPreference("browser.sessionhistory.max_total_viewers", 0);
+            profile.setPreference("browser.cache.disk.enable", false);
+            profile.setPreference("browser.cache.memory.capacity", 16384);
+        }
+    }
+
+    /**
+     * Create a Firefox profile, based on the configured template directory when there is one
+     */
+    public FirefoxProfile newFirefoxProfile(ConfigReader config) {
+        String template = config.getUserDataTemplate();
+        // FirefoxProfile copies the template into its own temporary directory
+        return template.isEmpty() ? new FirefoxProfile() : new FirefoxProfile(new File(template));
+    }
+
+    private PageLoadStrategy resolvePageLoadStrategy(ConfigReader config) {
+        String configured = config.getPageLoadStrategy();
+        return configured.isEmpty() ? pageLoadStrategy : PageLoadStrategy.fromString(configured);
+    }
+
+    /**
+     * Copy the shared user-data-dir template, so each session starts from the same warm profile without sharing locks
+     */
+    private static Path copyUserDataTemplate(Path template) {
+        try {
+            Path target = Files.createTempDirectory("chrome-profile-");
+            userDataDirs.add(target);
+            try (Stream<Path> paths = Files.walk(template)) {
+                for (Path source : (Iterable<Path>) paths::iterator) {
+                    String name = source.getFileName() != null ? source.getFileName().toString() : "";
+                    if (name.startsWith("Singleton")) {
+                        // Lock files of the browser that created the template
+                        continue;
+                    }
+                    Path destination = target.resolve(template.relativize(source).toString());
+                    if (Files.isDirectory(source)) {
+                        Files.createDirectories(destination);
+                    } else {
+                        Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot copy user data template: " + template, e);
+        }
+    }
+
+    /**
+     * Get the user-data-dir copy the options launch Chrome with, or null when they use no template copy
+     */
+    static Path copiedUserDataDir(ChromeOptions options) {
+        Object chromeOptions = options.asMap().get(ChromeOptions.CAPABILITY);
+        Object args = chromeOptions instanceof Map ? ((Map<?, ?>) chromeOptions).get("args") : null;
+        if (args instanceof List) {
+            for (Object arg : (List<?>) args) {
+                String value = String.valueOf(arg);
+                if (value.startsWith(USER_DATA_DIR_ARGUMENT)) {
+                    Path dir = Paths.get(value.substring(USER_DATA_DIR_ARGUMENT.length()));
+                    return userDataDirs.contains(dir) ? dir : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Delete a user-data-dir copy once no browser uses it (null is ignored)
+     */
+    static void deleteUserDataDir(Path dir) {
+        if (dir != null && userDataDirs.remove(dir)) {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Delete the copies left by sessions that never quit - run by DriverShutdown after the browsers are gone
+     */
+    static void deleteUserDataDirs() {
+        for (Path dir : userDataDirs) {
+            deleteUserDataDir(dir);
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                    Files.deleteIfExists(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Cannot delete browser profile directory: " + dir);
+        }
+    }
+}
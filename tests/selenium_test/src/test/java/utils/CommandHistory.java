@@ -0,0 +1,149 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * WebDriver listener keeping the last N commands of one browser session in a ring buffer,
+ * dumped into the failure artifacts of a test. Recording only overwrites the fields of a preallocated
+ * slot - entries are formatted when a snapshot is taken, so passing tests pay no formatting cost.
+ */
+public class CommandHistory implements WebDriverListener {
+    private static final int MAX_ARGUMENT_LENGTH = 120;
+    private static final Map<WebDriver, CommandHistory> histories = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Entry[] entries;
+    private int next;
+    private int size;
+    private long startNanos;
+
+    public CommandHistory(int capacity) {
+        this.entries = new Entry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new Entry();
+        }
+    }
+
+    /**
+     * Remember the history of a decorated driver
+     */
+    public static void register(WebDriver driver, CommandHistory history) {
+        histories.put(driver, history);
+    }
+
+    /**
+     * Get the history of the driver, or null if it has none
+     */
+    public static CommandHistory of(WebDriver driver) {
+        return histories.get(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        add(target, method, args, null);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        add(target, method, args, e.getCause() != null ? e.getCause() : e);
+    }
+
+    /**
+     * Commands recorded so far, oldest first
+     */
+    public synchronized List<String> snapshot() {
+        List<String> commands = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            commands.add(entries[(next - size + i + entries.length) % entries.length].format());
+        }
+        return commands;
+    }
+
+    /**
+     * Forget recorded commands - a pooled session starts each lease with an empty history
+     */
+    public synchronized void clear() {
+        for (Entry entry : entries) {
+            entry.set(0, null, null, null, null, null, 0);
+        }
+        next = 0;
+        size = 0;
+    }
+
+    private void add(Object target, Method method, Object[] args, Throwable error) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long timestamp = System.currentTimeMillis();
+        String testName = TestContext.getTestName();
+        synchronized (this) {
+            entries[next].set(timestamp, testName, target, method, args, error, elapsedNanos);
+            next = (next + 1) % entries.length;
+            size = Math.min(size + 1, entries.length);
+        }
+    }
+
+    private static String describe(Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return "";
+        }
+        // Typed text may be a password - never record it
+        if (method.getName().equals("sendKeys")) {
+            return "<keys>";
+        }
+        StringBuilder description = new StringBuilder();
+        String separator = "";
+        for (Object arg : args) {
+            description.append(separator);
+            separator = ", ";
+            String value = arg instanceof By || arg instanceof String || arg instanceof Number || arg instanceof Boolean
+                ? String.valueOf(arg) : arg == null ? "null" : arg.getClass().getSimpleName();
+            description.append(value.length() > MAX_ARGUMENT_LENGTH ? value.substring(0, MAX_ARGUMENT_LENGTH) + "..." : value);
+        }
+        return description.toString();
+    }
+
+    /**
+     * One recorded command, kept as raw references until formatted
+     */
+    private static class Entry {
+        private long timestamp;
+        private String testName;
+        private Object target;
+        private Method method;
+        private Object[] args;
+        private Throwable error;
+        private long elapsedNanos;
+
+        private void set(long timestamp, String testName, Object target, Method method, Object[] args,
+                         Throwable error, long elapsedNanos) {
+            this.timestamp = timestamp;
+            this.testName = testName;
+            this.target = target;
+            this.method = method;
+            this.args = args;
+            this.error = error;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private String format() {
+            return Instant.ofEpochMilli(timestamp) + " [" + testName + "] " +
+                (target instanceof WebDriver ? "driver" : target.getClass().getSimpleName()) + "." +
+                method.getName() + "(" + describe(method, args) + ") " +
+                (error == null ? "ok" : error.getClass().getSimpleName()) + " " + elapsedNanos / 1000 / 1000.0 + " ms";
+        }
+    }
+}
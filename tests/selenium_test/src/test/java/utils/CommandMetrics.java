@@ -0,0 +1,186 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebDriver listener recording per-command latency, tagged by page object and test name.
+ * A summary (count, mean, p50/p95/p99, max) is exported as JSON and CSV when the JVM exits.
+ */
+public class CommandMetrics implements WebDriverListener {
+    private static final String PAGES_PACKAGE = "pages.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static volatile CommandMetrics instance;
+
+    private final Map<MetricKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Path reportDir;
+
+    private CommandMetrics(Path reportDir) {
+        this.reportDir = reportDir;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::exportReports, "command-metrics-export"));
+    }
+
+    /**
+     * Get the JVM-wide metrics listener, creating it on first use
+     */
+    public static CommandMetrics getInstance(ConfigReader config) {
+        if (instance == null) {
+            synchronized (CommandMetrics.class) {
+                if (instance == null) {
+                    instance = new CommandMetrics(Paths.get(config.getMetricsDir()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private void record(Method method) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        MetricKey key = new MetricKey(method.getName(), findPageObject(), TestContext.getTestName());
+        histograms.computeIfAbsent(key, k -> new LatencyHistogram()).recordNanos(elapsed);
+    }
+
+    /**
+     * Find the page object that issued the command - the outermost frame of the pages package
+     */
+    private static String findPageObject() {
+        return STACK_WALKER.walk(frames -> {
+            String page = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.startsWith(PAGES_PACKAGE)) {
+                    page = className.substring(PAGES_PACKAGE.length());
+                } else if (page != null) {
+                    break;
+                }
+            }
+            return page != null ? page : "test";
+        });
+    }
+
+    /**
+     * Write the latency summary to the report directory
+     */
+    public void exportReports() {
+        if (histograms.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<MetricKey, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            MetricKey key = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("command", key.command);
+            row.put("page", key.page);
+            row.put("test", key.test);
+            row.put("count", histogram.getCount());
+            row.put("meanMs", round(histogram.getMeanMillis()));
+            row.put("p50Ms", round(histogram.getPercentileMillis(50)));
+            row.put("p95Ms", round(histogram.getPercentileMillis(95)));
+            row.put("p99Ms", round(histogram.getPercentileMillis(99)));
+            row.put("maxMs", round(histogram.getMaxMillis()));
+            rows.add(row);
+        }
+
+        String baseName = "command-latency-" + ProcessHandle.current().pid();
+        try {
+            Files.createDirectories(reportDir);
+            Files.write(reportDir.resolve(baseName + ".json"), new Json().toJson(rows).getBytes(StandardCharsets.UTF_8));
+            try (BufferedWriter writer = Files.newBufferedWriter(reportDir.resolve(baseName + ".csv"), StandardCharsets.UTF_8)) {
+                writer.write(String.join(",", rows.get(0).keySet()));
+                writer.newLine();
+                for (Map<String, Object> row : rows) {
+                    List<String> values = new ArrayList<>();
+                    for (Object value : row.values()) {
+                        values.add(String.valueOf(value));
+                    }
+                    writer.write(String.join(",", values));
+                    writer.newLine();
+                }
+            }
+            System.out.println("Command latency report written: " + reportDir.resolve(baseName + ".json"));
+        } catch (IOException e) {
+            System.err.println("Cannot write command latency report: " + e.getMessage());
+        }
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    /**
+     * Histogram key: command x page object x test
+     */
+    private static class MetricKey implements Comparable<MetricKey> {
+        private final String command;
+        private final String page;
+        private final String test;
+
+        MetricKey(String command, String page, String test) {
+            this.command = command;
+            this.page = page;
+            this.test = test;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MetricKey)) {
+                return false;
+            }
+            MetricKey other = (MetricKey) o;
+            return command.equals(other.command) && page.equals(other.page) && test.equals(other.test);
+        }
+
+        @Override
+        public int hashCode() {
+            return (command.hashCode() * 31 + page.hashCode()) * 31 + test.hashCode();
+        }
+
+        @Override
+        public int compareTo(MetricKey other) {
+            int result = test.compareTo(other.test);
+            if (result == 0) {
+                result = page.compareTo(other.page);
+            }
+            return result != 0 ? result : command.compareTo(other.command);
+        }
+    }
+}
@@ -1,67 +1,469 @@
 package utils;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Configuration file reading utility class
+ * Configuration reading utility class - an immutable, typed snapshot loaded once per JVM.
+ * Layers (lowest to highest precedence): config.properties on the classpath,
+ * environment variables (baseUrl -> SELENIUM_BASE_URL), system properties (-DbaseUrl=...),
+ * and per-worker overlays (worker.&lt;id&gt;.baseUrl=...) for parallel runs.
  */
-public class ConfigReader {
-    private Properties properties;
-    private static final String CONFIG_FILE = "src/test/resources/config.properties";
-
-    public ConfigReader() {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream(CONFIG_FILE)) {
-            properties.load(fis);
+public final class ConfigReader {
+    private static final String CONFIG_RESOURCE = "config.properties";
+    private static final String ENV_PREFIX = "SELENIUM_";
+    private static final String WORKER_PREFIX = "worker.";
+    private static final String BUDGET_PREFIX = "budget.";
+
+    private static volatile ConfigReader instance;
+    private static final Map<Integer, ConfigReader> workerConfigs = new ConcurrentHashMap<>();
+
+    private final Map<String, String> properties;
+
+    private final boolean fixtureServerEnabled;
+    private final String baseUrl;
+    private final String vulnWebUrl;
+    private final String browser;
+    private final boolean headless;
+    private final BrowserProfile browserProfile;
+    private final int browserContexts;
+    private final boolean sharedDriverService;
+    private final String pageLoadStrategy;
+    private final String userDataTemplate;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final int pageLoadTimeout;
+    private final int poolMaxUses;
+    private final int poolMaxAgeSeconds;
+    private final int poolMaxSessions;
+    private final boolean virtualThreads;
+    private final String sessionCacheDir;
+    private final int sessionCacheTtlMinutes;
+    private final boolean metricsEnabled;
+    private final String metricsDir;
+    private final List<String> networkBlockedUrls;
+    private final List<String> networkBlockedResourceTypes;
+    private final String networkStubFile;
+    private final boolean networkResponseCache;
+    private final String networkConditions;
+    private final boolean pageTimingEnabled;
+    private final boolean pageTimingHar;
+    private final String pageTimingDir;
+    private final Map<String, PerformanceBudget> performanceBudgets = new HashMap<>();
+    private final boolean failureArtifacts;
+    private final String failureArtifactDir;
+    private final int failureCommandHistory;
+    private final boolean failureConsoleLog;
+    private final int failureArtifactQueueMb;
+    private final String driverCacheDir;
+    private final int driverCacheTtlHours;
+    private final boolean driverOffline;
+    private final int testDataCount;
+    private final String testDataFile;
+    private final String testUsername;
+    private final String testPassword;
+    private final String downloadPath;
+
+    private ConfigReader(Map<String, String> properties) {
+        this.properties = Collections.unmodifiableMap(properties);
+
+        fixtureServerEnabled = getBooleanProperty("useFixtureServer", false);
+        baseUrl = getProperty("baseUrl");
+        vulnWebUrl = getProperty("vulnWebUrl", "http://testphp.vulnweb.com");
+        browser = getProperty("browser", "chrome").toLowerCase();
+        headless = getBooleanProperty("headless", false);
+        browserProfile = BrowserProfile.fromName(getProperty("browserProfile", "fidelity"));
+        browserContexts = getIntProperty("browserContexts", 1);
+        sharedDriverService = getBooleanProperty("sharedDriverService", true);
+        pageLoadStrategy = getProperty("pageLoadStrategy", "");
+        userDataTemplate = getProperty("userDataTemplate", "");
+        implicitWait = getIntProperty("implicitWait", 10);
+        explicitWait = getIntProperty("explicitWait", 15);
+        pageLoadTimeout = getIntProperty("pageLoadTimeout", 30);
+        poolMaxUses = getIntProperty("poolMaxUses", 50);
+        poolMaxAgeSeconds = getIntProperty("poolMaxAgeSeconds", 600);
+        poolMaxSessions = getIntProperty("poolMaxSessions", 0);
+        virtualThreads = getBooleanProperty("virtualThreads", false);
+        sessionCacheDir = getProperty("sessionCacheDir", "build/session-cache");
+        sessionCacheTtlMinutes = getIntProperty("sessionCacheTtlMinutes", 30);
+        metricsEnabled = getBooleanProperty("metricsEnabled", false);
+        metricsDir = getProperty("metricsDir", "build/metrics");
+        networkBlockedUrls = getListProperty("networkBlockedUrls");
+        networkBlockedResourceTypes = getListProperty("networkBlockedResourceTypes");
+        networkStubFile = getProperty("networkStubFile", "");
+        networkResponseCache = getBooleanProperty("networkResponseCache", false);
+        networkConditions = getProperty("networkConditions", "");
+        pageTimingEnabled = getBooleanProperty("pageTimingEnabled", false);
+        pageTimingHar = getBooleanProperty("pageTimingHar", false);
+        pageTimingDir = getProperty("pageTimingDir", "build/page-timing");
+        for (String key : properties.keySet()) {
+            if (key.startsWith(BUDGET_PREFIX) && key.indexOf('.', BUDGET_PREFIX.length()) > 0) {
+                String page = key.substring(BUDGET_PREFIX.length(), key.indexOf('.', BUDGET_PREFIX.length()));
+                performanceBudgets.computeIfAbsent(page, p -> PerformanceBudget.fromConfig(p, this));
+            }
+        }
+        failureArtifacts = getBooleanProperty("failureArtifacts", true);
+        failureArtifactDir = getProperty("failureArtifactDir", "build/failure-artifacts");
+        failureCommandHistory = getIntProperty("failureCommandHistory", 20);
+        failureConsoleLog = getBooleanProperty("failureConsoleLog", false);
+        failureArtifactQueueMb = getIntProperty("failureArtifactQueueMb", 64);
+        driverCacheDir = getProperty("driverCacheDir", ".driver-cache");
+        driverCacheTtlHours = getIntProperty("driverCacheTtlHours", 24);
+        driverOffline = getBooleanProperty("driverOffline", false);
+        testDataCount = getIntProperty("testDataCount", 5);
+        testDataFile = getProperty("testDataFile", "");
+        testUsername = getProperty("testUsername");
+        testPassword = getProperty("testPassword");
+        downloadPath = getProperty("downloadPath", "downloads");
+    }
+
+    /**
+     * Get the JVM-wide configuration, loading it on first use
+     */
+    public static ConfigReader getInstance() {
+        if (instance == null) {
+            synchronized (ConfigReader.class) {
+                if (instance == null) {
+                    instance = new ConfigReader(loadLayers());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the configuration of a parallel worker - the shared snapshot with its worker.&lt;id&gt;.* overlay applied
+     */
+    public static ConfigReader forWorker(int workerId) {
+        return workerConfigs.computeIfAbsent(workerId, id -> {
+            Map<String, String> base = getInstance().properties;
+            String prefix = WORKER_PREFIX + id + ".";
+            Map<String, String> overlay = new HashMap<>(base);
+            for (Map.Entry<String, String> entry : base.entrySet()) {
+                if (entry.getKey().startsWith(prefix)) {
+                    overlay.put(entry.getKey().substring(prefix.length()), entry.getValue());
+                }
+            }
+            return overlay.size() == base.size() && overlay.equals(base) ? getInstance() : new ConfigReader(overlay);
+        });
+    }
+
+    /**
+     * Get the configuration for the calling thread (worker overlay when running under ParallelRunner)
+     */
+    public static ConfigReader current() {
+        Integer workerId = TestContext.getWorkerId();
+        return workerId != null ? forWorker(workerId) : getInstance();
+    }
+
+    private static Map<String, String> loadLayers() {
+        Properties file = new Properties();
+        try (InputStream is = ConfigReader.class.getClassLoader().getResourceAsStream(CONFIG_RESOURCE)) {
+            if (is == null) {
+                System.err.println("Cannot load configuration file: " + CONFIG_RESOURCE + " not found on classpath");
+            } else {
+                try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+                    file.load(reader);
+                }
+            }
         } catch (IOException e) {
             System.err.println("Cannot load configuration file: " + e.getMessage());
         }
+
+        Map<String, String> merged = new HashMap<>();
+        for (String key : file.stringPropertyNames()) {
+            merged.put(key, file.getProperty(key));
+
+            String envValue = System.getenv(toEnvName(key));
+            if (envValue != null) {
+                merged.put(key, envValue);
+            }
+        }
+
+        Properties system = System.getProperties();
+        for (String key : system.stringPropertyNames()) {
+            if (merged.containsKey(key) || key.startsWith(WORKER_PREFIX) || key.startsWith(BUDGET_PREFIX)) {
+                merged.put(key, system.getProperty(key));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Map a property key to its environment variable: baseUrl -> SELENIUM_BASE_URL
+     */
+    private static String toEnvName(String key) {
+        return ENV_PREFIX + key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").replace('.', '_').toUpperCase();
     }
 
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return properties.get(key);
+    }
+
+    /**
+     * Get property, falling back to default value when not configured
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = properties.get(key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Get integer property, falling back to default value when not configured
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key);
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for configuration key '" + key + "': " + value, e);
+        }
+    }
+
+    /**
+     * Get comma separated list property, empty when not configured
+     */
+    public List<String> getListProperty(String key) {
+        String value = getProperty(key, "");
+        List<String> values = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim());
+            }
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Get boolean property, falling back to default value when not configured
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+
+    public boolean isFixtureServerEnabled() {
+        return fixtureServerEnabled;
     }
 
     public String getBaseUrl() {
-        return getProperty("baseUrl");
+        if (fixtureServerEnabled) {
+            return FixtureServer.getInstance().getBaseUrl();
+        }
+        return baseUrl;
     }
 
     public String getBrowser() {
-        return getProperty("browser");
+        return browser;
     }
 
     public boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless"));
+        return headless;
+    }
+
+    public BrowserProfile getBrowserProfile() {
+        return browserProfile;
+    }
+
+    /**
+     * Number of sessions sharing one Chrome process, each in its own browser context (1 = one browser per session)
+     */
+    public int getBrowserContexts() {
+        return browserContexts;
+    }
+
+    /**
+     * Whether sessions reuse the JVM-wide chromedriver / idle geckodriver instead of starting their own
+     */
+    public boolean isSharedDriverService() {
+        return sharedDriverService;
+    }
+
+    /**
+     * Get the page load strategy override (normal / eager / none), or "" to use the profile's default
+     */
+    public String getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    /**
+     * Get the browser profile directory copied into every new session, or "" for a fresh profile
+     */
+    public String getUserDataTemplate() {
+        return userDataTemplate;
     }
 
     public int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicitWait"));
+        return implicitWait;
     }
 
     public int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicitWait"));
+        return explicitWait;
     }
 
     public int getPageLoadTimeout() {
-        return Integer.parseInt(getProperty("pageLoadTimeout"));
+        return pageLoadTimeout;
+    }
+
+    public int getPoolMaxUses() {
+        return poolMaxUses;
+    }
+
+    public int getPoolMaxAgeSeconds() {
+        return poolMaxAgeSeconds;
+    }
+
+    /**
+     * Maximum number of sessions of one pool key leased at once (0 = unlimited)
+     */
+    public int getPoolMaxSessions() {
+        return poolMaxSessions;
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreads;
+    }
+
+    public String getSessionCacheDir() {
+        return sessionCacheDir;
+    }
+
+    public int getSessionCacheTtlMinutes() {
+        return sessionCacheTtlMinutes;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public String getMetricsDir() {
+        return metricsDir;
+    }
+
+    /**
+     * Get URL patterns (* wildcards) the browser must not request
+     */
+    public List<String> getNetworkBlockedUrls() {
+        return networkBlockedUrls;
+    }
+
+    /**
+     * Get DevTools resource types (Image, Font, Media, ...) the browser must not load
+     */
+    public List<String> getNetworkBlockedResourceTypes() {
+        return networkBlockedResourceTypes;
+    }
+
+    public String getNetworkStubFile() {
+        return networkStubFile;
+    }
+
+    public boolean isNetworkResponseCacheEnabled() {
+        return networkResponseCache;
+    }
+
+    /**
+     * Get network throttling as "latencyMs,downloadKbps,uploadKbps", or "" for none
+     */
+    public String getNetworkConditions() {
+        return networkConditions;
+    }
+
+    public boolean isPageTimingEnabled() {
+        return pageTimingEnabled;
+    }
+
+    /**
+     * Whether page timing records include a DevTools HAR of the page load (Chrome only)
+     */
+    public boolean isPageTimingHarEnabled() {
+        return pageTimingEnabled && pageTimingHar;
+    }
+
+    public String getPageTimingDir() {
+        return pageTimingDir;
+    }
+
+    /**
+     * Get the performance budget of a page class (budget.&lt;PageClass&gt;.*), or null if it has none
+     */
+    public PerformanceBudget getPerformanceBudget(String page) {
+        return performanceBudgets.get(page);
+    }
+
+    public boolean isFailureArtifactsEnabled() {
+        return failureArtifacts;
+    }
+
+    public String getFailureArtifactDir() {
+        return failureArtifactDir;
+    }
+
+    /**
+     * Number of recent driver commands kept for failure artifacts (0 = no command history)
+     */
+    public int getFailureCommandHistory() {
+        return failureArtifacts ? failureCommandHistory : 0;
+    }
+
+    /**
+     * Whether sessions buffer the browser console for failure artifacts (Chrome logging preferences)
+     */
+    public boolean isFailureConsoleLogEnabled() {
+        return failureArtifacts && failureConsoleLog;
+    }
+
+    public int getFailureArtifactQueueMb() {
+        return failureArtifactQueueMb;
+    }
+
+    public String getDriverCacheDir() {
+        return driverCacheDir;
+    }
+
+    public int getDriverCacheTtlHours() {
+        return driverCacheTtlHours;
+    }
+
+    public boolean isDriverOffline() {
+        return driverOffline;
     }
 
     public String getTestUsername() {
-        return getProperty("testUsername");
+        return testUsername;
+    }
+
+    public int getTestDataCount() {
+        return testDataCount;
+    }
+
+    public String getTestDataFile() {
+        return testDataFile;
     }
 
     public String getTestPassword() {
-        return getProperty("testPassword");
+        return testPassword;
     }
 
     public String getDownloadPath() {
-        return getProperty("downloadPath");
+        return downloadPath;
     }
 
     public String getVulnWebUrl() {
-        return "http://testphp.vulnweb.com";
+        if (fixtureServerEnabled) {
+            return FixtureServer.getInstance().getVulnWebUrl();
+        }
+        return vulnWebUrl;
     }
 
     public String getVulnWebUsername() {
@@ -71,4 +473,4 @@ public class ConfigReader {
     public String getVulnWebPassword() {
         return "test";
     }
-}
\ No newline at end of file
+}
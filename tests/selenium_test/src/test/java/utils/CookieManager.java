@@ -1,18 +1,56 @@
 package utils;
 
 import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Cookie management utility class
  */
 public class CookieManager {
+    private static final String CAPTURE_STORAGE_SCRIPT =
+        "function dump(storage) {" +
+        "  var data = {};" +
+        "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); data[key] = storage.getItem(key); }" +
+        "  return data;" +
+        "}" +
+        "return {url: location.href, localStorage: dump(window.localStorage), sessionStorage: dump(window.sessionStorage)};";
+    private static final String RESTORE_STORAGE_SCRIPT =
+        "var local = arguments[0], session = arguments[1];" +
+        "for (var key in local) { window.localStorage.setItem(key, local[key]); }" +
+        "for (var key in session) { window.sessionStorage.setItem(key, session[key]); }";
+
+    private static final Json JSON = new Json();
+
     private WebDriver driver;
+    private final Path sessionCacheDir;
+    private final Duration sessionTtl;
 
     public CookieManager(WebDriver driver) {
+        this(driver, ConfigReader.current());
+    }
+
+    public CookieManager(WebDriver driver, ConfigReader config) {
         this.driver = driver;
+        this.sessionCacheDir = Paths.get(config.getSessionCacheDir());
+        this.sessionTtl = Duration.ofMinutes(config.getSessionCacheTtlMinutes());
     }
 
     /**
@@ -81,4 +119,119 @@ public class CookieManager {
         }
         System.out.println("=================");
     }
-}
\ No newline at end of file
+
+    /**
+     * Capture the authenticated state (cookies, localStorage, sessionStorage) of the current page
+     * and store it in the session cache under the given name
+     * @param name Snapshot name
+     */
+    @SuppressWarnings("unchecked")
+    public void saveSession(String name) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : getAllCookies()) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("name", cookie.getName());
+            data.put("value", cookie.getValue());
+            data.put("path", cookie.getPath());
+            data.put("secure", cookie.isSecure());
+            data.put("httpOnly", cookie.isHttpOnly());
+            data.put("sameSite", cookie.getSameSite());
+            data.put("expiry", cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null);
+            cookies.add(data);
+        }
+
+        Map<String, Object> snapshot = new HashMap<>(storage);
+        snapshot.put("cookies", cookies);
+        snapshot.put("expiresAt", System.currentTimeMillis() + sessionTtl.toMillis());
+
+        try {
+            Files.createDirectories(sessionCacheDir);
+            Path target = getSessionFile(name);
+            Path temp = Files.createTempFile(sessionCacheDir, name, ".tmp");
+            Files.write(temp, JSON.toJson(snapshot).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Saved session snapshot '" + name + "' with " + cookies.size() + " cookies: " + target);
+        } catch (IOException e) {
+            System.out.println("Save session snapshot failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inject a cached session snapshot into the browser.
+     * Leaves the browser on the page the snapshot was taken from - navigate to the target page afterwards.
+     * @param name Snapshot name
+     * @return true if a valid snapshot was restored, false if none exists or it has expired
+     */
+    @SuppressWarnings("unchecked")
+    public boolean restoreSession(String name) {
+        Path file = getSessionFile(name);
+        if (!Files.exists(file)) {
+            return false;
+        }
+
+        Map<String, Object> snapshot;
+        try {
+            snapshot = JSON.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (IOException | JsonException e) {
+            System.out.println("Read session snapshot failed: " + e.getMessage());
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (((Number) snapshot.get("expiresAt")).longValue() < now) {
+            System.out.println("Session snapshot '" + name + "' has expired");
+            invalidateSession(name);
+            return false;
+        }
+
+        try {
+            // Cookies can only be added for the domain of the current page
+            driver.get((String) snapshot.get("url"));
+
+            for (Map<String, Object> data : (List<Map<String, Object>>) snapshot.get("cookies")) {
+                Number expiry = (Number) data.get("expiry");
+                if (expiry != null && expiry.longValue() < now) {
+                    continue;
+                }
+                // Domain is left out so the cookie is bound to the current host
+                Cookie cookie = new Cookie.Builder((String) data.get("name"), (String) data.get("value"))
+                    .path((String) data.get("path"))
+                    .isSecure(Boolean.TRUE.equals(data.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(data.get("httpOnly")))
+                    .sameSite((String) data.get("sameSite"))
+                    .expiresOn(expiry != null ? new Date(expiry.longValue()) : null)
+                    .build();
+                driver.manage().addCookie(cookie);
+            }
+
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                snapshot.get("localStorage"), snapshot.get("sessionStorage"));
+        } catch (WebDriverException e) {
+            // Snapshot origin no longer reachable (e.g. fixture server restarted on another port)
+            System.out.println("Restore session snapshot '" + name + "' failed: " + e.getMessage());
+            invalidateSession(name);
+            return false;
+        }
+
+        System.out.println("Restored session snapshot '" + name + "'");
+        return true;
+    }
+
+    /**
+     * Delete a cached session snapshot
+     * @param name Snapshot name
+     */
+    public void invalidateSession(String name) {
+        try {
+            Files.deleteIfExists(getSessionFile(name));
+        } catch (IOException e) {
+            System.out.println("Delete session snapshot failed: " + e.getMessage());
+        }
+    }
+
+    private Path getSessionFile(String name) {
+        return sessionCacheDir.resolve(name + ".json");
+    }
+}
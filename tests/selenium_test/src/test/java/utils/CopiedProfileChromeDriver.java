@@ -0,0 +1,53 @@
+package utils;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.nio.file.Path;
+
+/**
+ * ChromeDriver that deletes the user-data-dir copied from the userDataTemplate once the browser has quit,
+ * so evicted and worn-out pool sessions do not leave their profile copies on disk for the rest of the run
+ */
+class CopiedProfileChromeDriver extends ChromeDriver {
+    private final Path userDataDir;
+
+    private CopiedProfileChromeDriver(ChromeDriverService service, ChromeOptions options, Path userDataDir) {
+        super(service, options);
+        this.userDataDir = userDataDir;
+    }
+
+    private CopiedProfileChromeDriver(ChromeOptions options, Path userDataDir) {
+        super(options);
+        this.userDataDir = userDataDir;
+    }
+
+    /**
+     * Start a session, tied to the profile copy in the options when there is one
+     * @param service Driver server to use, or null to start one for the session
+     */
+    static ChromeDriver create(ChromeDriverService service, ChromeOptions options) {
+        Path userDataDir = BrowserProfile.copiedUserDataDir(options);
+        try {
+            if (userDataDir == null) {
+                return service != null ? new ChromeDriver(service, options) : new ChromeDriver(options);
+            }
+            return service != null
+                ? new CopiedProfileChromeDriver(service, options, userDataDir)
+                : new CopiedProfileChromeDriver(options, userDataDir);
+        } catch (RuntimeException e) {
+            BrowserProfile.deleteUserDataDir(userDataDir);
+            throw e;
+        }
+    }
+
+    @Override
+    public void quit() {
+        try {
+            super.quit();
+        } finally {
+            BrowserProfile.deleteUserDataDir(userDataDir);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Thread-confined WebDriver holder - each test worker thread owns exactly one leased session
+ */
+public class DriverHolder {
+    private static final ThreadLocal<WebDriverPool.Lease> LEASE = new ThreadLocal<>();
+
+    private DriverHolder() {
+    }
+
+    /**
+     * Lease a driver for the current thread, reusing the one already bound to it
+     */
+    public static WebDriver acquire(ConfigReader config) {
+        WebDriverPool.Lease lease = LEASE.get();
+        if (lease == null) {
+            lease = WebDriverPool.getInstance().acquire(config);
+            LEASE.set(lease);
+        }
+        return lease.getDriver();
+    }
+
+    /**
+     * Get the driver bound to the current thread
+     */
+    public static WebDriver getDriver() {
+        WebDriverPool.Lease lease = LEASE.get();
+        if (lease == null) {
+            throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName());
+        }
+        return lease.getDriver();
+    }
+
+    /**
+     * Get the driver bound to the current thread, or null if it has none
+     */
+    public static WebDriver current() {
+        WebDriverPool.Lease lease = LEASE.get();
+        return lease != null ? lease.getDriver() : null;
+    }
+
+    /**
+     * Return the current thread's driver to the pool
+     */
+    public static void release() {
+        WebDriverPool.Lease lease = LEASE.get();
+        if (lease != null) {
+            LEASE.remove();
+            lease.close();
+        }
+    }
+}
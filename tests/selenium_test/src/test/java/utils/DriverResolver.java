@@ -0,0 +1,250 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves driver binaries once per JVM and remembers them in a local manifest,
+ * so later runs skip WebDriverManager's version detection and metadata lookups.
+ * Works offline when the manifest is still valid or the driver is on the PATH.
+ */
+public class DriverResolver {
+    private static final String MANIFEST_FILE = "driver-manifest.properties";
+    // Futures rather than computeIfAbsent: waiting on a map bin's monitor would pin virtual threads during a download
+    private static final Map<String, CompletableFuture<String>> resolved = new ConcurrentHashMap<>();
+
+    private DriverResolver() {
+    }
+
+    /**
+     * Resolve the driver for the browser and publish it through the webdriver.*.driver system property
+     *
+     * @return Absolute path of the driver binary
+     */
+    public static String resolve(String browser, ConfigReader config) {
+        CompletableFuture<String> future = resolved.get(browser);
+        if (future == null) {
+            CompletableFuture<String> resolving = new CompletableFuture<>();
+            future = resolved.putIfAbsent(browser, resolving);
+            if (future == null) {
+                // This caller resolves, concurrent callers wait on the future
+                try {
+                    Driver driver = Driver.of(browser);
+                    String path = resolveUncached(driver, config);
+                    System.setProperty(driver.systemProperty, path);
+                    resolving.complete(path);
+                    return path;
+                } catch (RuntimeException e) {
+                    // Let the next caller try again
+                    resolved.remove(browser, resolving);
+                    resolving.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static String resolveUncached(Driver driver, ConfigReader config) {
+        long start = System.nanoTime();
+        Path manifestPath = Paths.get(config.getDriverCacheDir(), MANIFEST_FILE);
+        Properties manifest = loadManifest(manifestPath);
+
+        String cached = fromManifest(manifest, driver, config);
+        if (cached != null) {
+            System.out.println("Using cached " + driver.binary + ": " + cached + " (" + elapsedMillis(start) + " ms)");
+            return cached;
+        }
+
+        if (!config.isDriverOffline()) {
+            try {
+                WebDriverManager manager = driver.manager();
+                manager.setup();
+                String path = manager.getDownloadedDriverPath();
+                manifest.setProperty(driver.key("driverPath"), path);
+                manifest.setProperty(driver.key("driverVersion"), String.valueOf(manager.getDownloadedDriverVersion()));
+                Optional<Path> browserPath = manager.getBrowserPath();
+                if (browserPath.isPresent()) {
+                    manifest.setProperty(driver.key("browserPath"), browserPath.get().toString());
+                    manifest.setProperty(driver.key("browserModified"), String.valueOf(lastModified(browserPath.get())));
+                } else {
+                    manifest.remove(driver.key("browserPath"));
+                    manifest.remove(driver.key("browserModified"));
+                }
+                manifest.setProperty(driver.key("resolvedAt"), Instant.now().toString());
+                storeManifest(manifestPath, driver, manifest);
+                System.out.println("Resolved " + driver.binary + " " + manager.getDownloadedDriverVersion() +
+                    ": " + path + " (" + elapsedMillis(start) + " ms)");
+                return path;
+            } catch (RuntimeException e) {
+                System.out.println("Driver resolution failed, looking for a local " + driver.binary + ": " + e.getMessage());
+            }
+        }
+
+        String local = findOnPath(driver);
+        if (local != null) {
+            System.out.println("Using local " + driver.binary + ": " + local);
+            return local;
+        }
+        String stale = manifest.getProperty(driver.key("driverPath"));
+        if (stale != null && isExecutable(Paths.get(stale))) {
+            // Expired, but still better than failing without network
+            System.out.println("Using expired cached " + driver.binary + ": " + stale);
+            return stale;
+        }
+        throw new IllegalStateException("Cannot resolve " + driver.binary + ": no cached or local driver available");
+    }
+
+    /**
+     * Get the cached driver path if it still exists, has not expired and the browser was not updated since
+     */
+    private static String fromManifest(Properties manifest, Driver driver, ConfigReader config) {
+        String path = manifest.getProperty(driver.key("driverPath"));
+        String resolvedAt = manifest.getProperty(driver.key("resolvedAt"));
+        if (path == null || resolvedAt == null || !isExecutable(Paths.get(path))) {
+            return null;
+        }
+
+        if (!config.isDriverOffline()) {
+            try {
+                Duration age = Duration.between(Instant.parse(resolvedAt), Instant.now());
+                if (age.toHours() >= config.getDriverCacheTtlHours()) {
+                    return null;
+                }
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        String browserPath = manifest.getProperty(driver.key("browserPath"));
+        if (browserPath != null) {
+            String modified = String.valueOf(lastModified(Paths.get(browserPath)));
+            if (!modified.equals(manifest.getProperty(driver.key("browserModified")))) {
+                System.out.println("Browser changed since " + driver.binary + " was resolved, resolving again");
+                return null;
+            }
+        }
+        return path;
+    }
+
+    private static String findOnPath(Driver driver) {
+        String configured = System.getProperty(driver.systemProperty);
+        if (configured != null && isExecutable(Paths.get(configured))) {
+            return configured;
+        }
+
+        String pathEnv = System.getenv("PATH");
+        if (pathEnv == null) {
+            return null;
+        }
+        boolean windows = System.getProperty("os.name").toLowerCase().contains("win");
+        for (String dir : pathEnv.split(File.pathSeparator)) {
+            Path candidate = Paths.get(dir, windows ? driver.binary + ".exe" : driver.binary);
+            if (isExecutable(candidate)) {
+                return candidate.toAbsolutePath().toString();
+            }
+        }
+        return null;
+    }
+
+    private static Properties loadManifest(Path manifestPath) {
+        Properties manifest = new Properties();
+        if (Files.isRegularFile(manifestPath)) {
+            try (InputStream is = Files.newInputStream(manifestPath)) {
+                manifest.load(is);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Ignoring unreadable driver manifest: " + e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Write the driver's entries, keeping entries other JVMs or browsers stored in the meantime
+     */
+    private static synchronized void storeManifest(Path manifestPath, Driver driver, Properties entries) {
+        Properties manifest = loadManifest(manifestPath);
+        String prefix = driver.key("");
+        manifest.keySet().removeIf(key -> key.toString().startsWith(prefix));
+        for (String key : entries.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                manifest.setProperty(key, entries.getProperty(key));
+            }
+        }
+        try {
+            Files.createDirectories(manifestPath.getParent());
+            Path tempFile = Files.createTempFile(manifestPath.getParent(), MANIFEST_FILE, ".tmp");
+            try (OutputStream os = Files.newOutputStream(tempFile)) {
+                manifest.store(os, "Resolved WebDriver binaries");
+            }
+            Files.move(tempFile, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Cannot write driver manifest: " + e.getMessage());
+        }
+    }
+
+    private static boolean isExecutable(Path path) {
+        return Files.isRegularFile(path) && Files.isExecutable(path);
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Supported drivers
+     */
+    private enum Driver {
+        CHROME("chromedriver", "webdriver.chrome.driver"),
+        FIREFOX("geckodriver", "webdriver.gecko.driver");
+
+        private final String binary;
+        private final String systemProperty;
+
+        Driver(String binary, String systemProperty) {
+            this.binary = binary;
+            this.systemProperty = systemProperty;
+        }
+
+        static Driver of(String browser) {
+            return "firefox".equals(browser) ? FIREFOX : CHROME;
+        }
+
+        WebDriverManager manager() {
+            return this == FIREFOX ? WebDriverManager.firefoxdriver() : WebDriverManager.chromedriver();
+        }
+
+        String key(String field) {
+            return name().toLowerCase() + "." + field;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package utils;
+
+import org.junit.rules.ExternalResource;
+
+/**
+ * Returns the worker's WebDriver session to the pool after each test. Used as the outer rule of a RuleChain,
+ * so inner rules (failure artifacts) still see the session after @After methods ran.
+ */
+public class DriverRule extends ExternalResource {
+
+    @Override
+    protected void after() {
+        if (DriverHolder.current() != null) {
+            DriverHolder.release();
+            System.out.println("Test completed, browser session returned to pool");
+        }
+        TestContext.clear();
+    }
+}
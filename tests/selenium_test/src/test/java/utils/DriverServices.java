@@ -0,0 +1,222 @@
+package utils;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Driver server processes shared across sessions, so creating a session does not spawn and bind a new server.
+ * One chromedriver serves every Chrome session of the JVM; geckodriver serves one session at a time, so idle
+ * geckodriver processes are kept and handed to the next Firefox session. Quitting a session leaves its server
+ * running. Before a server is reused its /status endpoint is probed, and a dead or hung server is replaced.
+ * DriverShutdown stops all servers when the JVM exits, after the sessions using them have quit.
+ */
+public class DriverServices {
+    private static final int STATUS_TIMEOUT_MILLIS = 2000;
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final Set<DriverService> startedServices = ConcurrentHashMap.newKeySet();
+    private static final Deque<SharedGeckoService> idleGeckoServices = new ArrayDeque<>();
+    private static SharedChromeService chromeService;
+
+    static {
+        DriverShutdown.register();
+    }
+
+    private DriverServices() {
+    }
+
+    /**
+     * Get the JVM-wide chromedriver, starting it on first use or when it no longer answers
+     * @param options Session options, used to locate the driver binary when none is configured
+     */
+    public static ChromeDriverService chrome(Capabilities options) {
+        lock.lock();
+        try {
+            if (chromeService != null && !isHealthy(chromeService)) {
+                System.out.println("Shared chromedriver is not responding, restarting it");
+                stopQuietly(chromeService);
+                chromeService = null;
+            }
+            if (chromeService == null) {
+                chromeService = (SharedChromeService) new SharedChromeServiceBuilder().build();
+                start(chromeService, options);
+            }
+            return chromeService;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get an idle geckodriver for a new Firefox session, starting one when none is idle.
+     * The session gives it back when it quits.
+     * @param options Session options, used to locate the driver binary when none is configured
+     */
+    public static GeckoDriverService gecko(Capabilities options) {
+        lock.lock();
+        try {
+            SharedGeckoService service;
+            while ((service = idleGeckoServices.pollFirst()) != null) {
+                if (isHealthy(service)) {
+                    return service;
+                }
+                System.out.println("Idle geckodriver is not responding, discarding it");
+                stopQuietly(service);
+            }
+        } finally {
+            lock.unlock();
+        }
+        SharedGeckoService service = (SharedGeckoService) new SharedGeckoServiceBuilder().build();
+        start(service, options);
+        return service;
+    }
+
+    private static void start(DriverService service, Capabilities options) {
+        long start = System.nanoTime();
+        // Started before any session exists, so the executable lookup a driver constructor would do happens here
+        if (service.getExecutable() == null) {
+            service.setExecutable(DriverFinder.getPath(service, options).getDriverPath());
+        }
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new WebDriverException("Cannot start driver server " + service.getExecutable(), e);
+        }
+        startedServices.add(service);
+        System.out.println("Started driver server " + service.getUrl() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * The process is alive and answers GET /status in time - isRunning() alone misses a hung server
+     */
+    private static boolean isHealthy(DriverService service) {
+        if (!service.isRunning()) {
+            return false;
+        }
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(service.getUrl(), "/status").openConnection();
+            connection.setConnectTimeout(STATUS_TIMEOUT_MILLIS);
+            connection.setReadTimeout(STATUS_TIMEOUT_MILLIS);
+            return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static void release(SharedGeckoService service) {
+        lock.lock();
+        try {
+            // stop() may be called more than once per session - never hand one server to two sessions
+            if (!idleGeckoServices.contains(service)) {
+                idleGeckoServices.offerFirst(service);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void stopQuietly(DriverService service) {
+        startedServices.remove(service);
+        try {
+            if (service instanceof SharedChromeService) {
+                ((SharedChromeService) service).shutdown();
+            } else if (service instanceof SharedGeckoService) {
+                ((SharedGeckoService) service).shutdown();
+            }
+        } catch (WebDriverException e) {
+            System.out.println("Stopping driver server failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop every driver server - run by DriverShutdown once no session needs them
+     */
+    static void stopAll() {
+        for (DriverService service : startedServices) {
+            stopQuietly(service);
+        }
+    }
+
+    /**
+     * chromedriver that outlives its sessions - stop() is called by every quitting session and is ignored
+     */
+    private static class SharedChromeService extends ChromeDriverService {
+        SharedChromeService(File executable, int port, Duration timeout, List<String> args,
+                            Map<String, String> environment) throws IOException {
+            super(executable, port, timeout, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            // Shared by all Chrome sessions - stopped by shutdown() only
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+    }
+
+    /**
+     * geckodriver that returns to the idle list when its session quits
+     */
+    private static class SharedGeckoService extends GeckoDriverService {
+        SharedGeckoService(File executable, int port, Duration timeout, List<String> args,
+                           Map<String, String> environment) throws IOException {
+            super(executable, port, timeout, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            release(this);
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+    }
+
+    private static class SharedChromeServiceBuilder extends ChromeDriverService.Builder {
+        @Override
+        protected ChromeDriverService createDriverService(File executable, int port, Duration timeout,
+                                                          List<String> args, Map<String, String> environment) {
+            try {
+                return new SharedChromeService(executable, port, timeout, args, environment);
+            } catch (IOException e) {
+                throw new WebDriverException(e);
+            }
+        }
+    }
+
+    private static class SharedGeckoServiceBuilder extends GeckoDriverService.Builder {
+        @Override
+        protected GeckoDriverService createDriverService(File executable, int port, Duration timeout,
+                                                         List<String> args, Map<String, String> environment) {
+            try {
+                return new SharedGeckoService(executable, port, timeout, args, environment);
+            } catch (IOException e) {
+                throw new WebDriverException(e);
+            }
+        }
+    }
+}
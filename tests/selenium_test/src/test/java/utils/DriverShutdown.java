@@ -0,0 +1,32 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The one JVM shutdown hook for browser sessions and driver servers. Shutdown hooks run concurrently,
+ * so separate hooks could stop a driver server while sessions still send their quit through it;
+ * this one stops them in dependency order: pooled sessions, shared browsers, driver servers, and finally
+ * the browser profile copies no running browser uses any more.
+ */
+final class DriverShutdown {
+    private static final AtomicBoolean registered = new AtomicBoolean();
+
+    private DriverShutdown() {
+    }
+
+    /**
+     * Register the hook - called by every class owning sessions or servers, registers once
+     */
+    static void register() {
+        if (registered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DriverShutdown::run, "driver-shutdown"));
+        }
+    }
+
+    private static void run() {
+        WebDriverPool.getInstance().shutdown();
+        SharedBrowser.quitAll();
+        DriverServices.stopAll();
+        BrowserProfile.deleteUserDataDirs();
+    }
+}
@@ -0,0 +1,96 @@
+package utils;
+
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Captures screenshot, page source, the last driver commands and (failureConsoleLog) the browser console log
+ * when a test fails.
+ * Only the browser reads happen on the test thread - compression and disk writes are left to
+ * FailureArtifactWriter, and passing tests only pay for recording commands into the ring buffer.
+ */
+public class FailureArtifactRule extends TestWatcher {
+
+    @Override
+    protected void failed(Throwable e, Description description) {
+        ConfigReader config = ConfigReader.current();
+        if (!config.isFailureArtifactsEnabled()) {
+            return;
+        }
+
+        String testName = description.getTestClass() != null
+            ? description.getTestClass().getSimpleName() + "." + description.getMethodName()
+            : description.getDisplayName();
+        FailureArtifactWriter.Bundle bundle = new FailureArtifactWriter.Bundle(testName + "-" + System.currentTimeMillis());
+        WebDriver driver = DriverHolder.current();
+
+        StringWriter failure = new StringWriter();
+        failure.append("Test: ").append(description.getDisplayName()).append('\n');
+        if (driver != null) {
+            failure.append("URL: ").append(read(driver::getCurrentUrl)).append('\n');
+            failure.append("Title: ").append(read(driver::getTitle)).append('\n');
+        }
+        failure.append('\n');
+        e.printStackTrace(new PrintWriter(failure));
+        bundle.add("failure.txt", utf8(failure.toString()));
+
+        if (driver != null) {
+            if (driver instanceof TakesScreenshot) {
+                try {
+                    bundle.add("screenshot.png", ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+                } catch (WebDriverException ex) {
+                    System.out.println("Cannot take failure screenshot: " + ex.getMessage());
+                }
+            }
+            bundle.add("page-source.html", utf8(read(driver::getPageSource)));
+            if (config.isFailureConsoleLogEnabled()) {
+                bundle.add("console.log", utf8(readConsoleLog(driver)));
+            }
+            CommandHistory history = CommandHistory.of(driver);
+            if (history != null) {
+                bundle.add("commands.log", utf8(String.join("\n", history.snapshot()) + "\n"));
+            }
+        }
+
+        FailureArtifactWriter.getInstance(config).submit(bundle);
+    }
+
+    private static String readConsoleLog(WebDriver driver) {
+        try {
+            StringBuilder log = new StringBuilder();
+            List<LogEntry> entries = driver.manage().logs().get(LogType.BROWSER).getAll();
+            for (LogEntry entry : entries) {
+                log.append(entry).append('\n');
+            }
+            return log.toString();
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            // Firefox has no log endpoint
+            return "Browser log not available: " + e.getMessage() + "\n";
+        }
+    }
+
+    private static String read(Supplier<String> reader) {
+        try {
+            String value = reader.get();
+            return value != null ? value : "";
+        } catch (WebDriverException e) {
+            return "<unavailable: " + e.getClass().getSimpleName() + ">";
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
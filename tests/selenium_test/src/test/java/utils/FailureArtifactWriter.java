@@ -0,0 +1,145 @@
+package utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Background writer compressing failure artifacts into one zip per failed test, off the test thread.
+ * Pending artifacts are limited to failureArtifactQueueMb; bundles beyond the limit are dropped, not waited for.
+ */
+public class FailureArtifactWriter {
+    private static final long SHUTDOWN_FLUSH_SECONDS = 30;
+    private static volatile FailureArtifactWriter instance;
+
+    private final Path outputDir;
+    private final long maxPendingBytes;
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final BlockingQueue<Bundle> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+
+    private FailureArtifactWriter(Path outputDir, long maxPendingBytes) {
+        this.outputDir = outputDir;
+        this.maxPendingBytes = maxPendingBytes;
+        this.writerThread = new Thread(this::drain, "failure-artifact-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "failure-artifact-flush"));
+    }
+
+    /**
+     * Get the JVM-wide writer, starting its thread on first use
+     */
+    public static FailureArtifactWriter getInstance(ConfigReader config) {
+        if (instance == null) {
+            synchronized (FailureArtifactWriter.class) {
+                if (instance == null) {
+                    instance = new FailureArtifactWriter(Paths.get(config.getFailureArtifactDir()),
+                        config.getFailureArtifactQueueMb() * 1024L * 1024L);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queue a bundle for writing without blocking
+     * @return false if the bundle was dropped because the queue is full
+     */
+    public boolean submit(Bundle bundle) {
+        long size = bundle.size();
+        if (pendingBytes.addAndGet(size) > maxPendingBytes) {
+            pendingBytes.addAndGet(-size);
+            System.out.println("Failure artifact queue full, dropping artifacts of " + bundle.name);
+            return false;
+        }
+        queue.add(bundle);
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            Bundle bundle;
+            try {
+                bundle = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                write(bundle);
+            } catch (IOException e) {
+                System.err.println("Cannot write failure artifacts of " + bundle.name + ": " + e.getMessage());
+            } finally {
+                pendingBytes.addAndGet(-bundle.size());
+            }
+        }
+    }
+
+    private void write(Bundle bundle) throws IOException {
+        Files.createDirectories(outputDir);
+        Path target = outputDir.resolve(bundle.name + ".zip");
+        Path temp = outputDir.resolve(bundle.name + ".zip.tmp");
+        try (OutputStream out = Files.newOutputStream(temp);
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            // Screenshots are already compressed - favour speed over ratio
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (Map.Entry<String, byte[]> file : bundle.files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue());
+                zip.closeEntry();
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Saved failure artifacts: " + target);
+    }
+
+    /**
+     * Wait for queued bundles to be written before the JVM exits
+     */
+    private void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_FLUSH_SECONDS);
+        while (pendingBytes.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Named set of files written into one zip
+     */
+    public static class Bundle {
+        private final String name;
+        private final Map<String, byte[]> files = new LinkedHashMap<>();
+        private long size;
+
+        public Bundle(String name) {
+            this.name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        }
+
+        public Bundle add(String fileName, byte[] content) {
+            files.put(fileName, content);
+            size += content.length;
+            return this;
+        }
+
+        public long size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process HTTP server serving recorded snapshots of the TryTestingThis and VulnWeb pages,
+ * so tests run against loopback instead of the live sites
+ */
+public class FixtureServer {
+    private static final String FIXTURE_ROOT = "fixtures/";
+    private static final String VULNWEB_PREFIX = "/vulnweb";
+    private static final String LOGIN_COOKIE = "login";
+
+    private static volatile FixtureServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> snapshots = new ConcurrentHashMap<>();
+
+    private FixtureServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+
+        // The dispatcher thread inherits daemon status from the thread that starts the server
+        Thread starter = new Thread(server::start, "fixture-server-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "fixture-server-shutdown"));
+        System.out.println("Fixture server started: " + getBaseUrl());
+    }
+
+    /**
+     * Get the JVM-wide server, starting it on first use
+     */
+    public static FixtureServer getInstance() {
+        if (instance == null) {
+            synchronized (FixtureServer.class) {
+                if (instance == null) {
+                    try {
+                        instance = new FixtureServer();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot start fixture server", e);
+                    }
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Base URL of the TryTestingThis snapshot (no trailing slash)
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Base URL of the VulnWeb snapshot (no trailing slash)
+     */
+    public String getVulnWebUrl() {
+        return getBaseUrl() + VULNWEB_PREFIX;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            switch (path) {
+                case "/":
+                case "/index.html":
+                    sendSnapshot(exchange, "trytestingthis/index.html");
+                    break;
+                case "/contact":
+                case "/contact.html":
+                    sendSnapshot(exchange, "trytestingthis/contact.html");
+                    break;
+                case "/login.html":
+                    sendSnapshot(exchange, "trytestingthis/login.html");
+                    break;
+                case VULNWEB_PREFIX:
+                case VULNWEB_PREFIX + "/":
+                case VULNWEB_PREFIX + "/login.php":
+                    sendSnapshot(exchange, "vulnweb/login.php");
+                    break;
+                case VULNWEB_PREFIX + "/userinfo.php":
+                    handleUserInfo(exchange);
+                    break;
+                case VULNWEB_PREFIX + "/logout.php":
+                    exchange.getResponseHeaders().add("Set-Cookie", LOGIN_COOKIE + "=; Path=" + VULNWEB_PREFIX + "; Max-Age=0");
+                    sendSnapshot(exchange, "vulnweb/logout.php");
+                    break;
+                default:
+                    exchange.sendResponseHeaders(404, -1);
+                    break;
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Fixture server error: " + e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Mimic VulnWeb: POSTed test/test credentials log in, the login cookie keeps the session
+     */
+    private void handleUserInfo(HttpExchange exchange) throws IOException {
+        boolean authenticated;
+        if ("POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            Map<String, String> form = parseForm(exchange.getRequestBody());
+            authenticated = "test".equals(form.get("uname")) && "test".equals(form.get("pass"));
+            if (authenticated) {
+                exchange.getResponseHeaders().add("Set-Cookie", LOGIN_COOKIE + "=test%2Ftest; Path=" + VULNWEB_PREFIX);
+            }
+        } else {
+            String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+            authenticated = cookies != null && cookies.contains(LOGIN_COOKIE + "=test%2Ftest");
+        }
+
+        if (authenticated) {
+            sendSnapshot(exchange, "vulnweb/userinfo.php");
+        } else {
+            exchange.getResponseHeaders().add("Location", VULNWEB_PREFIX + "/login.php");
+            exchange.sendResponseHeaders(302, -1);
+        }
+    }
+
+    private void sendSnapshot(HttpExchange exchange, String name) throws IOException {
+        byte[] body = snapshots.computeIfAbsent(name, FixtureServer::loadSnapshot);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+        exchange.getResponseHeaders().add("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static byte[] loadSnapshot(String name) {
+        try (InputStream is = FixtureServer.class.getClassLoader().getResourceAsStream(FIXTURE_ROOT + name)) {
+            if (is == null) {
+                throw new IllegalStateException("Fixture snapshot not found: " + FIXTURE_ROOT + name);
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            is.transferTo(buffer);
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read fixture snapshot: " + name, e);
+        }
+    }
+
+    private static Map<String, String> parseForm(InputStream body) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        String content = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : content.split("&")) {
+            int idx = pair.indexOf('=');
+            if (idx > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, idx), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+}
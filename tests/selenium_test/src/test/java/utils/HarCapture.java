@@ -0,0 +1,189 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Builds HAR entries from Chrome DevTools network events of one browser session.
+ * Entries collected since the last drain() belong to the current page load.
+ */
+public class HarCapture {
+    private static final int MAX_ENTRIES = 2000;
+    private static final Map<WebDriver, HarCapture> captures = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // requestId -> entry being built, in request order
+    private final Map<String, Map<String, Object>> entries = new LinkedHashMap<>();
+
+    private HarCapture() {
+    }
+
+    /**
+     * Start capturing network events of the driver - does nothing when the browser has no DevTools
+     */
+    public static void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools) || !((HasDevTools) driver).maybeGetDevTools().isPresent()) {
+            System.out.println("HAR capture needs Chrome DevTools, skipping");
+            return;
+        }
+
+        HarCapture capture = new HarCapture();
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+            devTools.addListener(event("Network.requestWillBeSent"), capture::onRequest);
+            devTools.addListener(event("Network.responseReceived"), capture::onResponse);
+            devTools.addListener(event("Network.dataReceived"), capture::onData);
+            devTools.addListener(event("Network.loadingFinished"), capture::onFinished);
+            devTools.addListener(event("Network.loadingFailed"), capture::onFinished);
+            devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+            captures.put(driver, capture);
+        } catch (WebDriverException e) {
+            System.out.println("Cannot start HAR capture: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the capture attached to the driver, or null
+     */
+    public static HarCapture of(WebDriver driver) {
+        return captures.get(driver);
+    }
+
+    /**
+     * Take the entries collected since the previous call
+     */
+    public synchronized List<Map<String, Object>> drain() {
+        List<Map<String, Object>> drained = new ArrayList<>(entries.values());
+        for (Map<String, Object> entry : drained) {
+            // Requests still in flight have no end time or final sizes
+            entry.remove("_startTimestamp");
+            entry.remove("_bodyBytes");
+        }
+        entries.clear();
+        return drained;
+    }
+
+    /**
+     * Sum of _transferSize (encodedDataLength - bytes received over the network, headers included) over drained entries
+     */
+    public static long transferSize(List<Map<String, Object>> entries) {
+        long total = 0;
+        for (Map<String, Object> entry : entries) {
+            Object size = entry.get("_transferSize");
+            if (size instanceof Number && ((Number) size).longValue() > 0) {
+                total += ((Number) size).longValue();
+            }
+        }
+        return total;
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private synchronized void onRequest(Map<String, Object> event) {
+        if (entries.size() >= MAX_ENTRIES) {
+            return;
+        }
+        Map<?, ?> request = (Map<?, ?>) event.get("request");
+        Object wallTime = event.get("wallTime");
+
+        Map<String, Object> harRequest = new LinkedHashMap<>();
+        harRequest.put("method", request.get("method"));
+        harRequest.put("url", request.get("url"));
+        harRequest.put("headers", toHarHeaders((Map<?, ?>) request.get("headers")));
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("startedDateTime", wallTime instanceof Number
+            ? Instant.ofEpochMilli((long) (((Number) wallTime).doubleValue() * 1000)).toString()
+            : Instant.now().toString());
+        entry.put("time", 0);
+        entry.put("request", harRequest);
+        entry.put("_resourceType", event.get("type"));
+        entry.put("_startTimestamp", event.get("timestamp"));
+        String requestId = (String) event.get("requestId");
+        Map<String, Object> previousHop = entries.remove(requestId);
+        if (previousHop != null) {
+            // A redirect reuses the request id - keep the previous hop as its own entry
+            entries.put(requestId + "#" + entries.size(), previousHop);
+        }
+        entries.put(requestId, entry);
+    }
+
+    private synchronized void onResponse(Map<String, Object> event) {
+        Map<String, Object> entry = entries.get((String) event.get("requestId"));
+        if (entry == null) {
+            return;
+        }
+        Map<?, ?> response = (Map<?, ?>) event.get("response");
+        Map<String, Object> harResponse = new LinkedHashMap<>();
+        harResponse.put("status", response.get("status"));
+        harResponse.put("statusText", response.get("statusText"));
+        harResponse.put("httpVersion", response.get("protocol"));
+        harResponse.put("headers", toHarHeaders((Map<?, ?>) response.get("headers")));
+        harResponse.put("content", Collections.singletonMap("mimeType", response.get("mimeType")));
+        harResponse.put("bodySize", -1);
+        entry.put("response", harResponse);
+        entry.put("_fromCache", Boolean.TRUE.equals(response.get("fromDiskCache")));
+    }
+
+    private synchronized void onData(Map<String, Object> event) {
+        Map<String, Object> entry = entries.get((String) event.get("requestId"));
+        if (entry != null && event.get("dataLength") instanceof Number) {
+            // dataLength counts decoded body bytes, encodedDataLength of loadingFinished the bytes on the wire
+            entry.merge("_bodyBytes", ((Number) event.get("dataLength")).longValue(),
+                (total, chunk) -> (Long) total + (Long) chunk);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onFinished(Map<String, Object> event) {
+        Map<String, Object> entry = entries.get((String) event.get("requestId"));
+        if (entry == null) {
+            return;
+        }
+        Object start = entry.remove("_startTimestamp");
+        Object end = event.get("timestamp");
+        if (start instanceof Number && end instanceof Number) {
+            entry.put("time", (((Number) end).doubleValue() - ((Number) start).doubleValue()) * 1000);
+        }
+        Object bodyBytes = entry.remove("_bodyBytes");
+        if (event.get("encodedDataLength") instanceof Number) {
+            entry.put("_transferSize", ((Number) event.get("encodedDataLength")).longValue());
+        }
+        Map<String, Object> response = (Map<String, Object>) entry.get("response");
+        if (response != null && bodyBytes != null) {
+            // Stays -1 (unknown) when no body chunk was reported
+            response.put("bodySize", bodyBytes);
+        }
+        if (event.containsKey("errorText")) {
+            entry.put("_error", event.get("errorText"));
+        }
+    }
+
+    private static List<Map<String, Object>> toHarHeaders(Map<?, ?> headers) {
+        List<Map<String, Object>> harHeaders = new ArrayList<>();
+        if (headers != null) {
+            for (Map.Entry<?, ?> header : headers.entrySet()) {
+                Map<String, Object> harHeader = new LinkedHashMap<>();
+                harHeader.put("name", header.getKey());
+                harHeader.put("value", header.getValue());
+                harHeaders.add(harHeader);
+            }
+        }
+        return harHeaders;
+    }
+}
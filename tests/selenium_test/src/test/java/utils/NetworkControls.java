@@ -0,0 +1,360 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Chrome DevTools based network controls, configured through ConfigReader:
+ * URL blocklists (networkBlockedUrls), resource type blocking (networkBlockedResourceTypes),
+ * canned responses for matching URLs (networkStubFile), a JVM-wide cache of static responses
+ * shared by all sessions (networkResponseCache) and throttling (networkConditions).
+ */
+public class NetworkControls {
+    // Resource types whose responses are safe to replay across sessions
+    private static final List<String> CACHEABLE_TYPES = Arrays.asList("Script", "Stylesheet", "Font", "Image");
+    // The cached body is already decoded - headers describing the wire encoding no longer apply to it
+    private static final List<String> ENCODING_HEADERS = Arrays.asList("content-encoding", "content-length", "transfer-encoding");
+    private static final int MAX_CACHED_RESPONSES = 500;
+    private static final Map<String, CachedResponse> responseCache = new ConcurrentHashMap<>();
+    private static final AtomicInteger cachedResponses = new AtomicInteger();
+    private static final Map<String, List<Stub>> stubsByFile = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private final List<String> blockedResourceTypes;
+    private final List<Stub> stubs;
+    private final boolean cacheResponses;
+
+    private NetworkControls(DevTools devTools, ConfigReader config) {
+        this.devTools = devTools;
+        this.blockedResourceTypes = config.getNetworkBlockedResourceTypes();
+        this.stubs = config.getNetworkStubFile().isEmpty()
+            ? Collections.emptyList()
+            : stubsByFile.computeIfAbsent(config.getNetworkStubFile(), NetworkControls::loadStubs);
+        this.cacheResponses = config.isNetworkResponseCacheEnabled();
+    }
+
+    /**
+     * Install the configured network controls on a freshly created driver.
+     * Does nothing when no control is configured; warns when the browser does not support DevTools.
+     */
+    public static void install(WebDriver driver, ConfigReader config) {
+        if (!isConfigured(config)) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools) || !((HasDevTools) driver).maybeGetDevTools().isPresent()) {
+            System.out.println("Network controls need Chrome DevTools, skipping for " + config.getBrowser());
+            return;
+        }
+
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        try {
+            // Attach to the session's own page - other pages may belong to other sessions of a shared browser
+            devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+            new NetworkControls(devTools, config).enable(config);
+        } catch (WebDriverException e) {
+            System.out.println("Cannot install network controls: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Describe the configured controls - sessions with different controls must not be shared by the pool
+     */
+    public static String fingerprint(ConfigReader config) {
+        if (!isConfigured(config)) {
+            return "none";
+        }
+        return Integer.toHexString(Arrays.asList(config.getNetworkBlockedUrls(), config.getNetworkBlockedResourceTypes(),
+            config.getNetworkStubFile(), config.isNetworkResponseCacheEnabled(), config.getNetworkConditions()).hashCode());
+    }
+
+    private static boolean isConfigured(ConfigReader config) {
+        return !config.getNetworkBlockedUrls().isEmpty() || !config.getNetworkBlockedResourceTypes().isEmpty() ||
+            !config.getNetworkStubFile().isEmpty() || config.isNetworkResponseCacheEnabled() ||
+            !config.getNetworkConditions().isEmpty();
+    }
+
+    private void enable(ConfigReader config) {
+        devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+
+        if (!config.getNetworkBlockedUrls().isEmpty()) {
+            // Blocked in the browser's network stack - no roundtrip to the test process per request
+            devTools.send(new Command<Void>("Network.setBlockedURLs",
+                Collections.singletonMap("urls", config.getNetworkBlockedUrls())));
+        }
+
+        if (!config.getNetworkConditions().isEmpty()) {
+            devTools.send(new Command<Void>("Network.emulateNetworkConditions", parseConditions(config.getNetworkConditions())));
+        }
+
+        if (blockedResourceTypes.isEmpty() && stubs.isEmpty() && !cacheResponses) {
+            return;
+        }
+
+        // Pause only the requests a control applies to - every paused request costs a roundtrip to the test process
+        Set<String> requestTypes = new LinkedHashSet<>(blockedResourceTypes);
+        if (cacheResponses) {
+            requestTypes.addAll(CACHEABLE_TYPES);
+        }
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : requestTypes) {
+            patterns.add(pattern("*", type, "Request"));
+        }
+        for (Stub stub : stubs) {
+            patterns.add(pattern(stub.glob, null, "Request"));
+        }
+        if (cacheResponses) {
+            for (String type : CACHEABLE_TYPES) {
+                patterns.add(pattern("*", type, "Response"));
+            }
+        }
+        devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+            this::onRequestPaused);
+        devTools.send(new Command<Void>("Fetch.enable", Collections.singletonMap("patterns", patterns)));
+    }
+
+    private void onRequestPaused(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        try {
+            Map<?, ?> request = (Map<?, ?>) event.get("request");
+            String url = (String) request.get("url");
+            String resourceType = (String) event.get("resourceType");
+
+            if (event.containsKey("responseStatusCode")) {
+                onResponse(requestId, url, event);
+                return;
+            }
+
+            if (blockedResourceTypes.contains(resourceType)) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("requestId", requestId);
+                params.put("errorReason", "BlockedByClient");
+                devTools.send(new Command<Void>("Fetch.failRequest", params));
+                return;
+            }
+
+            for (Stub stub : stubs) {
+                if (stub.urlPattern.matcher(url).matches()) {
+                    fulfill(requestId, 200, stub.headers, stub.body);
+                    return;
+                }
+            }
+
+            CachedResponse cached = cacheResponses && "GET".equals(request.get("method")) ? responseCache.get(url) : null;
+            if (cached != null) {
+                fulfill(requestId, cached.status, cached.headers, cached.body);
+                return;
+            }
+
+            devTools.send(new Command<Void>("Fetch.continueRequest", Collections.singletonMap("requestId", requestId)));
+        } catch (WebDriverException e) {
+            // Target navigated or closed while the request was paused
+            System.out.println("Network control could not handle request " + requestId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Response stage of a cacheable request - remember successful responses, then let them through unchanged
+     */
+    @SuppressWarnings("unchecked")
+    private void onResponse(String requestId, String url, Map<String, Object> event) {
+        int status = ((Number) event.get("responseStatusCode")).intValue();
+        if (status != 200 || cachedResponses.get() >= MAX_CACHED_RESPONSES) {
+            devTools.send(new Command<Void>("Fetch.continueRequest", Collections.singletonMap("requestId", requestId)));
+            return;
+        }
+
+        Map<String, Object> result = devTools.send(new Command<Map<String, Object>>("Fetch.getResponseBody",
+            Collections.singletonMap("requestId", requestId), Json.MAP_TYPE));
+        String body = (String) result.get("body");
+        if (!Boolean.TRUE.equals(result.get("base64Encoded"))) {
+            body = Base64.getEncoder().encodeToString(body.getBytes(StandardCharsets.UTF_8));
+        }
+        List<Map<String, Object>> headers = new ArrayList<>();
+        List<Map<String, Object>> responseHeaders = (List<Map<String, Object>>) event.get("responseHeaders");
+        if (responseHeaders != null) {
+            for (Map<String, Object> header : responseHeaders) {
+                if (!ENCODING_HEADERS.contains(String.valueOf(header.get("name")).toLowerCase(Locale.ROOT))) {
+                    headers.add(header);
+                }
+            }
+        }
+        CachedResponse response = new CachedResponse(status, headers, body);
+        // Size check and insert in one step, so concurrent sessions cannot overfill the cache
+        responseCache.compute(url, (key, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            if (cachedResponses.incrementAndGet() > MAX_CACHED_RESPONSES) {
+                cachedResponses.decrementAndGet();
+                return null;
+            }
+            return response;
+        });
+        fulfill(requestId, status, response.headers, body);
+    }
+
+    private void fulfill(String requestId, int status, List<Map<String, Object>> headers, String base64Body) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", requestId);
+        params.put("responseCode", status);
+        params.put("responseHeaders", headers);
+        params.put("body", base64Body);
+        devTools.send(new Command<Void>("Fetch.fulfillRequest", params));
+    }
+
+    private static Map<String, Object> pattern(String urlPattern, String resourceType, String stage) {
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("urlPattern", urlPattern);
+        pattern.put("requestStage", stage);
+        if (resourceType != null) {
+            pattern.put("resourceType", resourceType);
+        }
+        return pattern;
+    }
+
+    /**
+     * Parse "latencyMs,downloadKbps,uploadKbps" into Network.emulateNetworkConditions parameters
+     */
+    private static Map<String, Object> parseConditions(String conditions) {
+        String[] parts = conditions.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("networkConditions must be latencyMs,downloadKbps,uploadKbps: " + conditions);
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("offline", false);
+        params.put("latency", Integer.parseInt(parts[0].trim()));
+        // CDP expects bytes per second
+        params.put("downloadThroughput", Integer.parseInt(parts[1].trim()) * 1024 / 8);
+        params.put("uploadThroughput", Integer.parseInt(parts[2].trim()) * 1024 / 8);
+        return params;
+    }
+
+    /**
+     * Load stubs from a classpath file - one "urlPattern resourcePath" pair per line, # for comments
+     */
+    private static List<Stub> loadStubs(String stubFile) {
+        List<Stub> stubs = new ArrayList<>();
+        try (InputStream is = NetworkControls.class.getClassLoader().getResourceAsStream(stubFile)) {
+            if (is == null) {
+                throw new IllegalArgumentException("Network stub file not found on classpath: " + stubFile);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+", 2);
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid network stub line: " + line);
+                }
+                stubs.add(new Stub(parts[0], parts[1]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read network stub file: " + stubFile, e);
+        }
+        return stubs;
+    }
+
+    /**
+     * Convert a CDP style URL pattern (* and ? wildcards) into a regular expression
+     */
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String contentTypeOf(String resourcePath) {
+        String name = resourcePath.toLowerCase();
+        if (name.endsWith(".js")) {
+            return "application/javascript";
+        } else if (name.endsWith(".css")) {
+            return "text/css";
+        } else if (name.endsWith(".json")) {
+            return "application/json";
+        } else if (name.endsWith(".woff2")) {
+            return "font/woff2";
+        }
+        String guessed = URLConnection.guessContentTypeFromName(name);
+        return guessed != null ? guessed : "application/octet-stream";
+    }
+
+    /**
+     * Response replayed from the JVM-wide cache
+     */
+    private static class CachedResponse {
+        private final int status;
+        private final List<Map<String, Object>> headers;
+        private final String body;
+
+        CachedResponse(int status, List<Map<String, Object>> headers, String body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Canned response for matching URLs, read from a classpath resource
+     */
+    private static class Stub {
+        private final String glob;
+        private final Pattern urlPattern;
+        private final List<Map<String, Object>> headers;
+        private final String body;
+
+        Stub(String glob, String resourcePath) {
+            this.glob = glob;
+            this.urlPattern = globToRegex(glob);
+            try (InputStream is = NetworkControls.class.getClassLoader().getResourceAsStream(resourcePath)) {
+                if (is == null) {
+                    throw new IllegalArgumentException("Network stub resource not found on classpath: " + resourcePath);
+                }
+                this.body = Base64.getEncoder().encodeToString(is.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read network stub resource: " + resourcePath, e);
+            }
+            Map<String, Object> contentType = new LinkedHashMap<>();
+            contentType.put("name", "Content-Type");
+            contentType.put("value", contentTypeOf(resourcePath));
+            this.headers = Collections.singletonList(contentType);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Navigation and resource timing of one page load, as reported by performance.getEntries()
+ */
+public class PageTiming {
+    private final String page;
+    private final String url;
+    private final Map<String, Object> navigation;
+    private final List<Map<String, Object>> resources;
+    // Bytes received according to the network log, or -1 when no HAR was captured
+    private final long networkTransferSize;
+
+    public PageTiming(String page, String url, Map<String, Object> navigation, List<Map<String, Object>> resources) {
+        this(page, url, navigation, resources, -1);
+    }
+
+    /**
+     * @param networkTransferSize Bytes received according to captured network events (-1 if unknown)
+     */
+    public PageTiming(String page, String url, Map<String, Object> navigation, List<Map<String, Object>> resources,
+                      long networkTransferSize) {
+        this.page = page;
+        this.url = url;
+        this.navigation = navigation != null ? navigation : Collections.emptyMap();
+        this.resources = resources != null ? resources : Collections.emptyList();
+        this.networkTransferSize = networkTransferSize;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the raw PerformanceNavigationTiming entry
+     */
+    public Map<String, Object> getNavigation() {
+        return navigation;
+    }
+
+    /**
+     * Get the raw PerformanceResourceTiming entries
+     */
+    public List<Map<String, Object>> getResources() {
+        return resources;
+    }
+
+    /**
+     * Time from navigation start to the end of the load event
+     */
+    public double getLoadTimeMillis() {
+        double loadEventEnd = value("loadEventEnd");
+        return loadEventEnd > 0 ? loadEventEnd : value("duration");
+    }
+
+    /**
+     * Time the server needed to start answering (request sent to first byte)
+     */
+    public double getServerMillis() {
+        return Math.max(0, value("responseStart") - value("requestStart"));
+    }
+
+    /**
+     * Time spent on redirects, DNS, connection setup and downloading the document
+     */
+    public double getNetworkMillis() {
+        return Math.max(0, value("requestStart") - value("startTime")) + Math.max(0, value("responseEnd") - value("responseStart"));
+    }
+
+    /**
+     * Time from the document being downloaded to the end of the load event
+     */
+    public double getRenderMillis() {
+        return Math.max(0, getLoadTimeMillis() - value("responseEnd"));
+    }
+
+    /**
+     * Number of requests - the document itself plus its resources
+     */
+    public int getRequestCount() {
+        return resources.size() + 1;
+    }
+
+    /**
+     * Bytes transferred over the network for the document and its resources (cached responses count as 0).
+     * Taken from the network log when a HAR was captured - resource timing reports 0 for cross-origin
+     * responses without Timing-Allow-Origin.
+     */
+    public long getTransferSize() {
+        if (networkTransferSize >= 0) {
+            return networkTransferSize;
+        }
+        long total = (long) value("transferSize");
+        for (Map<String, Object> resource : resources) {
+            Object size = resource.get("transferSize");
+            if (size instanceof Number) {
+                total += ((Number) size).longValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Derived figures, written next to the raw entries
+     */
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("loadMs", round(getLoadTimeMillis()));
+        summary.put("serverMs", round(getServerMillis()));
+        summary.put("networkMs", round(getNetworkMillis()));
+        summary.put("renderMs", round(getRenderMillis()));
+        summary.put("requests", getRequestCount());
+        summary.put("transferBytes", getTransferSize());
+        return summary;
+    }
+
+    private double value(String key) {
+        Object value = navigation.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+
+    @Override
+    public String toString() {
+        return page + " " + url + " " + getSummary();
+    }
+}
@@ -0,0 +1,136 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records navigation / resource timing (and optionally a HAR) after every BasePage page load,
+ * appending one JSON line per page load to &lt;pageTimingDir&gt;/&lt;test&gt;.ndjson
+ */
+public class PageTimingRecorder {
+    private static final long LOAD_TIMEOUT_MILLIS = 10_000;
+    private static final String TIMING_SCRIPT =
+        "var timeoutMs = arguments[0], done = arguments[arguments.length - 1], finished = false;" +
+        "function collect() {" +
+        "  if (finished) { return; }" +
+        "  finished = true;" +
+        "  var nav = performance.getEntriesByType('navigation')[0];" +
+        "  var resources = performance.getEntriesByType('resource').map(function(r) {" +
+        "    return {name: r.name, initiatorType: r.initiatorType, startTime: r.startTime, duration: r.duration," +
+        "            transferSize: r.transferSize || 0, encodedBodySize: r.encodedBodySize || 0};" +
+        "  });" +
+        "  done({navigation: nav ? nav.toJSON() : null, resources: resources});" +
+        "}" +
+        // Collect after the load event handlers ran, so loadEventEnd is set (pages opened with an eager strategy)
+        "if (document.readyState === 'complete') { setTimeout(collect, 0); }" +
+        "else { window.addEventListener('load', function() { setTimeout(collect, 0); }); setTimeout(collect, timeoutMs); }";
+
+    private static final PageTimingRecorder INSTANCE = new PageTimingRecorder();
+
+    private final Map<Path, Object> fileLocks = new ConcurrentHashMap<>();
+    private final Json json = new Json();
+
+    private PageTimingRecorder() {
+    }
+
+    /**
+     * Get the JVM-wide recorder
+     */
+    public static PageTimingRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Forget network events of earlier page loads - call before navigating
+     */
+    public void beforeNavigation(WebDriver driver) {
+        HarCapture capture = HarCapture.of(driver);
+        if (capture != null) {
+            capture.drain();
+        }
+    }
+
+    /**
+     * Capture timing of the page just opened and append it to the current test's NDJSON file
+     * @return The timing, or null if it could not be read
+     */
+    @SuppressWarnings("unchecked")
+    public PageTiming record(WebDriver driver, String page, ConfigReader config) {
+        PageTiming timing;
+        HarCapture capture = config.isPageTimingHarEnabled() ? HarCapture.of(driver) : null;
+        List<Map<String, Object>> harEntries = null;
+        try {
+            Map<String, Object> entries = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(TIMING_SCRIPT, LOAD_TIMEOUT_MILLIS);
+            // Drained after the load event, so the network log covers the same resources as the timing entries
+            harEntries = capture != null ? capture.drain() : null;
+            timing = new PageTiming(page, driver.getCurrentUrl(),
+                (Map<String, Object>) entries.get("navigation"), (List<Map<String, Object>>) entries.get("resources"),
+                harEntries != null ? HarCapture.transferSize(harEntries) : -1);
+        } catch (WebDriverException e) {
+            System.out.println("Cannot read page timing of " + page + ": " + e.getMessage());
+            return null;
+        }
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("timestamp", Instant.now().toString());
+        record.put("test", TestContext.getTestName());
+        record.put("page", page);
+        record.put("url", timing.getUrl());
+        record.put("summary", timing.getSummary());
+        record.put("navigation", timing.getNavigation());
+        record.put("resources", timing.getResources());
+        if (harEntries != null) {
+            Map<String, Object> log = new LinkedHashMap<>();
+            log.put("version", "1.2");
+            log.put("creator", Map.of("name", "selenium_test", "version", "1.0"));
+            log.put("entries", harEntries);
+            record.put("har", Map.of("log", log));
+        }
+
+        append(Paths.get(config.getPageTimingDir(), fileNameFor(TestContext.getTestName())), record);
+        System.out.println("Page timing: " + timing);
+        return timing;
+    }
+
+    private void append(Path file, Map<String, Object> record) {
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput output = json.newOutput(line)) {
+            output.setPrettyPrint(false);
+            output.write(record);
+        }
+        line.append('\n');
+
+        synchronized (fileLocks.computeIfAbsent(file, f -> new Object())) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(line.toString());
+                }
+            } catch (IOException e) {
+                System.err.println("Cannot write page timing: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String fileNameFor(String testName) {
+        return testName.replaceAll("[^A-Za-z0-9._-]", "_") + ".ndjson";
+    }
+}
@@ -0,0 +1,15 @@
+package utils;
+
+import org.junit.runners.Parameterized;
+
+/**
+ * JUnit Parameterized runner that runs the parameter sets concurrently with the ParallelRunner scheduler
+ * ("parallelThreads" / "virtualThreads"); each parameter set runs its test methods in order on one worker thread.
+ */
+public class ParallelParameterized extends Parameterized {
+
+    public ParallelParameterized(Class<?> testClass) throws Throwable {
+        super(testClass);
+        setScheduler(ParallelRunner.newScheduler());
+    }
+}
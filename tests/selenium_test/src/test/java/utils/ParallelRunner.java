@@ -0,0 +1,113 @@
+package utils;
+
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit runner that executes test methods concurrently on a fixed pool of worker threads,
+ * or on one virtual thread per test when "virtualThreads" is enabled (JDK 21+).
+ * Worker count comes from the "parallelThreads" system property or configuration;
+ * "shardIndex"/"shardCount" system properties split the methods across CI agents.
+ */
+public class ParallelRunner extends BlockJUnit4ClassRunner {
+
+    public ParallelRunner(Class<?> testClass) throws InitializationError {
+        super(testClass);
+        setScheduler(newScheduler());
+    }
+
+    /**
+     * Keep only the methods belonging to this shard
+     */
+    @Override
+    protected List<FrameworkMethod> computeTestMethods() {
+        List<FrameworkMethod> methods = super.computeTestMethods();
+        int shardCount = Integer.getInteger("shardCount", 1);
+        if (shardCount <= 1) {
+            return methods;
+        }
+
+        int shardIndex = Integer.getInteger("shardIndex", 0);
+        List<FrameworkMethod> shard = new ArrayList<>();
+        for (FrameworkMethod method : methods) {
+            if (Math.floorMod(method.getName().hashCode(), shardCount) == shardIndex) {
+                shard.add(method);
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Create the scheduler selected by configuration
+     */
+    static RunnerScheduler newScheduler() {
+        int threads = resolveThreadCount();
+        if (ConfigReader.getInstance().isVirtualThreadsEnabled()) {
+            RunnerScheduler scheduler = VirtualThreadScheduler.createIfSupported(threads);
+            if (scheduler != null) {
+                return scheduler;
+            }
+            System.out.println("Virtual threads need JDK 21+, falling back to platform worker threads");
+        }
+        return new WorkerScheduler(threads);
+    }
+
+    private static int resolveThreadCount() {
+        Integer threads = Integer.getInteger("parallelThreads");
+        if (threads == null) {
+            threads = ConfigReader.getInstance().getIntProperty("parallelThreads", 1);
+        }
+        return Math.max(1, threads);
+    }
+
+    /**
+     * Schedules each test method on a worker thread and waits for all of them to finish
+     */
+    private static class WorkerScheduler implements RunnerScheduler {
+        private final ExecutorService executor;
+
+        WorkerScheduler(int threads) {
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+                int workerId = counter.incrementAndGet();
+                Thread thread = new Thread(() -> {
+                    TestContext.setWorkerId(workerId);
+                    try {
+                        runnable.run();
+                    } finally {
+                        // Give the worker's session back once the worker retires
+                        DriverHolder.release();
+                    }
+                }, "test-worker-" + workerId);
+                thread.setDaemon(true);
+                return thread;
+            });
+            System.out.println("Running tests on " + threads + " worker thread(s)");
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            executor.submit(childStatement);
+        }
+
+        @Override
+        public void finished() {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page weight / load time limits of a page object, read from budget.&lt;PageClass&gt;.* keys:
+ * loadMs (load event end), maxRequests (document + resources) and maxTransferKb (bytes over the network).
+ * BasePage evaluates the budget of a page class after every open() and every navigation it waits for
+ * (login, logout, navigation links) while page timing is enabled.
+ */
+public class PerformanceBudget {
+    private static final String PREFIX = "budget.";
+
+    private final String page;
+    private final Duration maxLoadTime;
+    private final int maxRequests;
+    private final long maxTransferBytes;
+
+    private PerformanceBudget(String page, Duration maxLoadTime, int maxRequests, long maxTransferBytes) {
+        this.page = page;
+        this.maxLoadTime = maxLoadTime;
+        this.maxRequests = maxRequests;
+        this.maxTransferBytes = maxTransferBytes;
+    }
+
+    /**
+     * Read the budget of a page class from configuration
+     * @return The budget, or null when none of its keys are configured
+     */
+    static PerformanceBudget fromConfig(String page, ConfigReader config) {
+        String prefix = PREFIX + page + ".";
+        int loadMs = config.getIntProperty(prefix + "loadMs", -1);
+        int maxRequests = config.getIntProperty(prefix + "maxRequests", -1);
+        int maxTransferKb = config.getIntProperty(prefix + "maxTransferKb", -1);
+        if (loadMs < 0 && maxRequests < 0 && maxTransferKb < 0) {
+            return null;
+        }
+        return new PerformanceBudget(page, loadMs < 0 ? null : Duration.ofMillis(loadMs), maxRequests,
+            maxTransferKb < 0 ? -1 : maxTransferKb * 1024L);
+    }
+
+    /**
+     * Start a fluent budget assertion on a page load
+     */
+    public static Check check(PageTiming timing) {
+        return new Check(timing);
+    }
+
+    /**
+     * Assert every configured limit, reporting all violations at once
+     */
+    public void evaluate(PageTiming timing) {
+        List<String> violations = new ArrayList<>();
+        Check check = check(timing);
+        if (maxLoadTime != null) {
+            collect(violations, () -> check.assertPageLoadUnder(maxLoadTime));
+        }
+        if (maxRequests >= 0) {
+            collect(violations, () -> check.assertNoMoreThanNRequests(maxRequests));
+        }
+        if (maxTransferBytes >= 0) {
+            collect(violations, () -> check.assertTransferSizeUnder(maxTransferBytes));
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Performance budget of " + page + " exceeded: " + String.join("; ", violations));
+        }
+    }
+
+    private static void collect(List<String> violations, Runnable assertion) {
+        try {
+            assertion.run();
+        } catch (AssertionError e) {
+            violations.add(e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return page + " budget (loadMs=" + (maxLoadTime != null ? maxLoadTime.toMillis() : "-") +
+            ", maxRequests=" + (maxRequests >= 0 ? maxRequests : "-") +
+            ", maxTransferBytes=" + (maxTransferBytes >= 0 ? maxTransferBytes : "-") + ")";
+    }
+
+    /**
+     * Fluent assertions on one page load - each method throws AssertionError when its limit is exceeded
+     */
+    public static class Check {
+        private final PageTiming timing;
+
+        private Check(PageTiming timing) {
+            if (timing == null) {
+                throw new IllegalStateException("No page timing recorded - enable pageTimingEnabled");
+            }
+            this.timing = timing;
+        }
+
+        public Check assertPageLoadUnder(Duration limit) {
+            if (timing.getLoadTimeMillis() > limit.toMillis()) {
+                throw new AssertionError(String.format("%s loaded in %.0f ms, budget %d ms (server %.0f ms, network %.0f ms, render %.0f ms)",
+                    timing.getUrl(), timing.getLoadTimeMillis(), limit.toMillis(),
+                    timing.getServerMillis(), timing.getNetworkMillis(), timing.getRenderMillis()));
+            }
+            return this;
+        }
+
+        public Check assertNoMoreThanNRequests(int limit) {
+            if (timing.getRequestCount() > limit) {
+                throw new AssertionError(timing.getUrl() + " made " + timing.getRequestCount() +
+                    " requests, budget " + limit);
+            }
+            return this;
+        }
+
+        public Check assertTransferSizeUnder(long limitBytes) {
+            if (timing.getTransferSize() > limitBytes) {
+                throw new AssertionError(timing.getUrl() + " transferred " + timing.getTransferSize() +
+                    " bytes, budget " + limitBytes + " bytes");
+            }
+            return this;
+        }
+    }
+}
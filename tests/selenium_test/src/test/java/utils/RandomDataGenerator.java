@@ -1,92 +1,255 @@
 package utils;
 
-import java.util.Random;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Random data generation utility class
+ * Random data generation utility class.
+ * Every thread draws from its own SplittableRandom stream derived from one global seed
+ * ("randomSeed" configuration key, printed at startup), so parallel workers never contend
+ * and a failing run can be replayed; reseed(testName) makes each test's data independent of scheduling.
  */
 public class RandomDataGenerator {
-    private static final Random random = new Random();
     private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
     private static final String NUMBERS = "0123456789";
-    
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Michael", "Emma", "William", "Olivia", "James", "Sophia", "Robert", "Emily"};
+    private static final String[] LOWER_FIRST_NAMES = toLowerCase(FIRST_NAMES);
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Miller", "Davis", "Garcia", "Rodriguez", "Wilson"};
+    private static final String[] GENDERS = {"male", "female", "other"};
+    private static final String[] COLORS = {"#FF0000", "#00FF00", "#0000FF", "#FFFF00", "#FF00FF", "#00FFFF", "#000000", "#FFFFFF"};
+    private static final String[] OPTIONS = {"option", "option 1", "option 2", "option 3"};
+    private static final String EMAIL_DOMAIN = "@example.com";
+    // Reference date of seeded dates, so generated data does not change with the calendar
+    private static final LocalDate DATE_EPOCH = LocalDate.of(2024, 1, 1);
+
+    private static final long GLOBAL_SEED = resolveSeed();
+    // Distinguishes runs, CI shards and Gradle test forks, so unique ids never repeat across JVMs -
+    // the seed is not used, a replayed run must still get fresh ids
+    private static final String FORK_ID = resolveForkId();
+    private static final AtomicInteger threadOrdinals = new AtomicInteger();
+    private static final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(
+        () -> new ThreadState(threadOrdinals.incrementAndGet()));
+
+    /**
+     * Get the random stream of the current thread
+     */
+    public static SplittableRandom random() {
+        return threadState.get().random;
+    }
+
+    /**
+     * Restart the current thread's stream from the global seed and a scope (e.g. the test name),
+     * so the scope gets the same data on every run with the same seed, whichever worker runs it
+     */
+    public static void reseed(String scope) {
+        threadState.get().random = new SplittableRandom(mix(GLOBAL_SEED ^ scope.hashCode()));
+    }
+
+    /**
+     * Create an independent stream for a numbered item (e.g. the n-th record of a data set) -
+     * the same seed and index always produce the same data, in any order and on any thread
+     */
+    public static SplittableRandom randomFor(long index) {
+        return new SplittableRandom(mix(GLOBAL_SEED + mix(index)));
+    }
+
+    /**
+     * Get the global seed of this run
+     */
+    public static long getSeed() {
+        return GLOBAL_SEED;
+    }
+
+    /**
+     * Generate an id unique across runs - run start time, shard, fork, thread and per-thread counter,
+     * no shared counter to contend on
+     */
+    public static String generateUniqueId() {
+        ThreadState state = threadState.get();
+        return FORK_ID + "-" + Integer.toString(state.ordinal, 36) + "-" + Long.toString(++state.counter, 36);
+    }
+
     /**
      * Generate random name
      */
     public static String generateRandomName() {
-        String[] firstNames = {"John", "Jane", "Michael", "Emma", "William", "Olivia", "James", "Sophia", "Robert", "Emily"};
-        return firstNames[random.nextInt(firstNames.length)];
+        return generateRandomName(random());
     }
-    
+
+    /**
+     * Generate random name from the given stream
+     */
+    public static String generateRandomName(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+    }
+
     /**
      * Generate random last name
      */
     public static String generateRandomLastName() {
-        String[] lastNames = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Miller", "Davis", "Garcia", "Rodriguez", "Wilson"};
-        return lastNames[random.nextInt(lastNames.length)];
+        return generateRandomLastName(random());
     }
-    
+
     /**
-     * Generate random email
+     * Generate random last name from the given stream
+     */
+    public static String generateRandomLastName(SplittableRandom random) {
+        return LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    /**
+     * Generate random email - unique across threads, forks, shards and runs
      */
     public static String generateRandomEmail() {
-        String name = generateRandomName().toLowerCase();
-        String domain = "example.com";
-        long timestamp = System.currentTimeMillis();
-        return name + timestamp + "@" + domain;
+        String name = LOWER_FIRST_NAMES[random().nextInt(LOWER_FIRST_NAMES.length)];
+        return name + "." + generateUniqueId() + EMAIL_DOMAIN;
     }
-    
+
     /**
      * Generate random integer from 1 to specified maximum value
      */
     public static int generateRandomInt(int max) {
+        return generateRandomInt(random(), max);
+    }
+
+    /**
+     * Generate random integer from 1 to max from the given stream
+     */
+    public static int generateRandomInt(SplittableRandom random, int max) {
         return random.nextInt(max) + 1;
     }
-    
+
     /**
      * Generate random gender
      */
     public static String generateRandomGender() {
-        String[] genders = {"male", "female", "other"};
-        return genders[random.nextInt(genders.length)];
+        return generateRandomGender(random());
     }
-    
+
+    /**
+     * Generate random gender from the given stream
+     */
+    public static String generateRandomGender(SplittableRandom random) {
+        return GENDERS[random.nextInt(GENDERS.length)];
+    }
+
     /**
-     * Generate random date (within the last year)
+     * Generate random date within the year before a fixed date - the same seed and scope
+     * give the same date on any day the tests run
      */
     public static String generateRandomDate() {
-        LocalDate now = LocalDate.now();
-        int daysToSubtract = random.nextInt(365);
-        LocalDate randomDate = now.minusDays(daysToSubtract);
-        return randomDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return generateRandomDate(random());
     }
-    
+
+    /**
+     * Generate random date from the given stream, within the year before a fixed date
+     */
+    public static String generateRandomDate(SplittableRandom random) {
+        return DATE_EPOCH.minusDays(random.nextInt(365)).format(DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
     /**
      * Generate random hexadecimal color value
      */
     public static String generateRandomColor() {
-        String[] colors = {"#FF0000", "#00FF00", "#0000FF", "#FFFF00", "#FF00FF", "#00FFFF", "#000000", "#FFFFFF"};
-        return colors[random.nextInt(colors.length)];
+        return generateRandomColor(random());
     }
-    
+
+    /**
+     * Generate random hexadecimal color value from the given stream
+     */
+    public static String generateRandomColor(SplittableRandom random) {
+        return COLORS[random.nextInt(COLORS.length)];
+    }
+
     /**
      * Generate random option (1, 2 or 3)
      */
     public static String generateRandomOption() {
-        String[] options = {"option", "option 1", "option 2", "option 3"};
-        return options[random.nextInt(options.length)];
+        return generateRandomOption(random());
     }
-    
+
+    /**
+     * Generate random option from the given stream
+     */
+    public static String generateRandomOption(SplittableRandom random) {
+        return OPTIONS[random.nextInt(OPTIONS.length)];
+    }
+
     /**
      * Generate random string
      */
     public static String generateRandomString(int length) {
-        StringBuilder builder = new StringBuilder();
+        return generateRandomString(random(), length);
+    }
+
+    /**
+     * Generate random string of letters from the given stream
+     */
+    public static String generateRandomString(SplittableRandom random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Generate random digit string
+     */
+    public static String generateRandomDigits(int length) {
+        SplittableRandom random = random();
+        char[] chars = new char[length];
         for (int i = 0; i < length; i++) {
-            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            chars[i] = NUMBERS.charAt(random.nextInt(NUMBERS.length()));
+        }
+        return new String(chars);
+    }
+
+    private static long resolveSeed() {
+        String configured = ConfigReader.getInstance().getProperty("randomSeed", "");
+        long seed = configured.isEmpty() ? mix(System.nanoTime() ^ System.currentTimeMillis()) : Long.parseLong(configured);
+        System.out.println("Random data seed: " + seed + " (replay with -DrandomSeed=" + seed + ")");
+        return seed;
+    }
+
+    private static String resolveForkId() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String shard = "s" + Integer.getInteger("shardIndex", 0);
+        String gradleWorker = System.getProperty("org.gradle.test.worker");
+        return runId + "-" + shard + "-" + (gradleWorker != null ? "f" + gradleWorker : "p" + ProcessHandle.current().pid());
+    }
+
+    /**
+     * Spread seed bits (SplitMix64 finalizer), so nearby seeds produce unrelated streams
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String[] toLowerCase(String[] values) {
+        String[] lower = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            lower[i] = values[i].toLowerCase().intern();
+        }
+        return lower;
+    }
+
+    /**
+     * Per-thread generator state
+     */
+    private static class ThreadState {
+        private final int ordinal;
+        private SplittableRandom random;
+        private long counter;
+
+        ThreadState(int ordinal) {
+            this.ordinal = ordinal;
+            this.random = new SplittableRandom(mix(GLOBAL_SEED + ordinal));
         }
-        return builder.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package utils;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.CapabilityType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs several Chrome sessions in one browser process, each in its own browser context
+ * (CDP Target.createBrowserContext - incognito-like, with separate cookies, storage and cache).
+ * A hidden host session launches the browser; tenant sessions attach to it through its debugger address
+ * and only see the windows of their own context.
+ * Locks are ReentrantLocks rather than monitors: they are held across driver roundtrips, which would pin
+ * the carrier thread of a virtual thread.
+ */
+public class SharedBrowser {
+    private static final int WINDOW_LOOKUP_ATTEMPTS = 20;
+    private static final List<SharedBrowser> browsers = new ArrayList<>();
+    private static final ReentrantLock browsersLock = new ReentrantLock();
+
+    static {
+        DriverShutdown.register();
+    }
+
+    private final ChromeDriver host;
+    private final String debuggerAddress;
+    private final ReentrantLock hostLock = new ReentrantLock();
+    private int tenants;
+
+    private SharedBrowser(ChromeDriver host) {
+        this.host = host;
+        Object chromeOptions = host.getCapabilities().getCapability("goog:chromeOptions");
+        Object address = chromeOptions instanceof Map ? ((Map<?, ?>) chromeOptions).get("debuggerAddress") : null;
+        if (address == null) {
+            host.quit();
+            throw new IllegalStateException("Chrome did not report a debugger address, cannot share the browser");
+        }
+        this.debuggerAddress = address.toString();
+    }
+
+    /**
+     * Create a session in a fresh browser context, launching a browser when every running one
+     * already hosts contextsPerBrowser sessions
+     */
+    public static ChromeDriver newContextDriver(ChromeOptions options, int contextsPerBrowser) {
+        SharedBrowser browser = lease(options, contextsPerBrowser);
+        try {
+            return new ContextDriver(browser, browser.attachOptions(options));
+        } catch (RuntimeException e) {
+            release(browser);
+            throw e;
+        }
+    }
+
+    private static SharedBrowser lease(ChromeOptions options, int contextsPerBrowser) {
+        browsersLock.lock();
+        try {
+            for (SharedBrowser browser : browsers) {
+                if (browser.tenants < contextsPerBrowser) {
+                    browser.tenants++;
+                    // Attaching sessions run in the host's profile - their own template copy is never used
+                    BrowserProfile.deleteUserDataDir(BrowserProfile.copiedUserDataDir(options));
+                    return browser;
+                }
+            }
+            // Launched under the lock, so concurrent workers fill one browser instead of starting several.
+            // The host owns the profile copy of the options and deletes it when it quits.
+            SharedBrowser browser = new SharedBrowser(CopiedProfileChromeDriver.create(DriverServices.chrome(options), options));
+            browser.tenants = 1;
+            browsers.add(browser);
+            System.out.println("Started shared browser at " + browser.debuggerAddress);
+            return browser;
+        } finally {
+            browsersLock.unlock();
+        }
+    }
+
+    private static void release(SharedBrowser browser) {
+        browsersLock.lock();
+        try {
+            if (--browser.tenants > 0) {
+                return;
+            }
+            browsers.remove(browser);
+            try {
+                browser.host.quit();
+            } catch (WebDriverException e) {
+                System.out.println("Cannot quit shared browser: " + e.getMessage());
+            }
+        } finally {
+            browsersLock.unlock();
+        }
+    }
+
+    /**
+     * Quit every shared browser - run by DriverShutdown after the pooled sessions quit
+     */
+    static void quitAll() {
+        browsersLock.lock();
+        try {
+            for (SharedBrowser browser : browsers) {
+                try {
+                    browser.host.quit();
+                } catch (WebDriverException e) {
+                    // Browser already gone
+                }
+            }
+            browsers.clear();
+        } finally {
+            browsersLock.unlock();
+        }
+    }
+
+    /**
+     * Session options attaching to the running browser - launch arguments and preferences come from the host,
+     * only session-level capabilities are carried over
+     */
+    private ChromeOptions attachOptions(ChromeOptions options) {
+        ChromeOptions attach = new ChromeOptions();
+        attach.setExperimentalOption("debuggerAddress", debuggerAddress);
+        for (String capability : new String[]{CapabilityType.PAGE_LOAD_STRATEGY, ChromeOptions.LOGGING_PREFS}) {
+            Object value = options.getCapability(capability);
+            if (value != null) {
+                attach.setCapability(capability, value);
+            }
+        }
+        return attach;
+    }
+
+    private Map<String, Object> hostCdp(String command, Map<String, Object> parameters) {
+        hostLock.lock();
+        try {
+            return host.executeCdpCommand(command, parameters);
+        } finally {
+            hostLock.unlock();
+        }
+    }
+
+    /**
+     * Session confined to one browser context; quitting it disposes the context and frees its slot
+     */
+    private static class ContextDriver extends ChromeDriver {
+        private final SharedBrowser browser;
+        private final String contextId;
+
+        ContextDriver(SharedBrowser browser, ChromeOptions options) {
+            super(DriverServices.chrome(options), options);
+            this.browser = browser;
+            String context = null;
+            try {
+                // Target commands go through the host, whose current page never changes
+                context = (String) browser.hostCdp("Target.createBrowserContext", Map.of()).get("browserContextId");
+                String targetId = (String) browser.hostCdp("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", context)).get("targetId");
+                switchTo().window(findWindowHandle(targetId));
+            } catch (RuntimeException e) {
+                if (context != null) {
+                    try {
+                        browser.hostCdp("Target.disposeBrowserContext", Map.of("browserContextId", context));
+                    } catch (WebDriverException ignored) {
+                        // Reported through the original failure
+                    }
+                }
+                super.quit();
+                throw e;
+            }
+            this.contextId = context;
+        }
+
+        /**
+         * Window handles of this context only - other tenants' windows are invisible to the session
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public Set<String> getWindowHandles() {
+            Set<String> handles = super.getWindowHandles();
+            try {
+                Set<String> ownTargets = new LinkedHashSet<>();
+                List<Map<String, Object>> targets = (List<Map<String, Object>>) browser
+                    .hostCdp("Target.getTargets", Map.of()).get("targetInfos");
+                for (Map<String, Object> target : targets) {
+                    if ("page".equals(target.get("type")) && contextId.equals(target.get("browserContextId"))) {
+                        ownTargets.add((String) target.get("targetId"));
+                    }
+                }
+                handles.removeIf(handle -> ownTargets.stream().noneMatch(handle::contains));
+            } catch (WebDriverException e) {
+                System.out.println("Cannot filter window handles by browser context: " + e.getMessage());
+            }
+            return handles;
+        }
+
+        @Override
+        public void quit() {
+            try {
+                browser.hostCdp("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+            } catch (WebDriverException e) {
+                System.out.println("Cannot dispose browser context " + contextId + ": " + e.getMessage());
+            }
+            try {
+                // Detaches from the shared browser - chromedriver leaves a browser it did not launch running
+                super.quit();
+            } finally {
+                release(browser);
+            }
+        }
+
+        private String findWindowHandle(String targetId) {
+            for (int attempt = 0; attempt < WINDOW_LOOKUP_ATTEMPTS; attempt++) {
+                for (String handle : super.getWindowHandles()) {
+                    if (handle.contains(targetId)) {
+                        return handle;
+                    }
+                }
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            throw new IllegalStateException("Window of browser context target " + targetId + " did not appear");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package utils;
+
+/**
+ * Thread-local context of the currently running test, used to tag metrics and artifacts
+ */
+public class TestContext {
+    private static final ThreadLocal<String> TEST_NAME = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> WORKER_ID = new ThreadLocal<>();
+
+    private TestContext() {
+    }
+
+    public static void setTestName(String testName) {
+        TEST_NAME.set(testName);
+    }
+
+    /**
+     * Get the current test name, or "unknown" outside of a test
+     */
+    public static String getTestName() {
+        String testName = TEST_NAME.get();
+        return testName != null ? testName : "unknown";
+    }
+
+    public static void setWorkerId(int workerId) {
+        WORKER_ID.set(workerId);
+    }
+
+    /**
+     * Get the parallel worker id of the current thread, or null outside of a worker
+     */
+    public static Integer getWorkerId() {
+        return WORKER_ID.get();
+    }
+
+    public static void clear() {
+        TEST_NAME.remove();
+    }
+}
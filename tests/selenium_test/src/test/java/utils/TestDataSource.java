@@ -0,0 +1,318 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sources of UserRecord test data for data-driven runs: seeded generation, CSV and JSONL fixture files.
+ * Records are produced one at a time as the stream is consumed; a file is read line by line and never loaded whole.
+ * Whether the records are then held in memory depends on the consumer - see parameters().
+ * CSV files have a header row of UserRecord.COLUMNS; quoted fields must not span lines.
+ */
+public final class TestDataSource {
+    private static final Json json = new Json();
+
+    private TestDataSource() {
+    }
+
+    /**
+     * Records from the configured fixture file (testDataFile), or testDataCount generated records
+     */
+    public static Stream<UserRecord> fromConfig(ConfigReader config) {
+        String file = config.getTestDataFile();
+        return file.isEmpty() ? generate(config.getTestDataCount()) : read(Paths.get(file));
+    }
+
+    /**
+     * Generate records 0..count-1 from the run's seed - splits cleanly for parallel streams
+     */
+    public static Stream<UserRecord> generate(long count) {
+        return LongStream.range(0, count).mapToObj(UserRecord::generate);
+    }
+
+    /**
+     * Generate only the records of one worker (ids where id % workerCount == workerIndex),
+     * without generating the records of other workers
+     */
+    public static Stream<UserRecord> generate(long count, int workerIndex, int workerCount) {
+        checkPartition(workerIndex, workerCount);
+        long perWorker = Math.max(0, (count - workerIndex + workerCount - 1) / workerCount);
+        return LongStream.range(0, perWorker).mapToObj(i -> UserRecord.generate(workerIndex + i * workerCount));
+    }
+
+    /**
+     * Keep every workerCount-th element of a stream, starting at workerIndex - each worker streams
+     * the same source and skips what belongs to the others
+     */
+    public static <T> Stream<T> partition(Stream<T> source, int workerIndex, int workerCount) {
+        checkPartition(workerIndex, workerCount);
+        if (workerCount == 1) {
+            return source;
+        }
+        Spliterator<T> spliterator = source.spliterator();
+        Spliterator<T> partitioned = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private long position;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                boolean[] taken = new boolean[1];
+                while (!taken[0]) {
+                    boolean advanced = spliterator.tryAdvance(element -> {
+                        if (position++ % workerCount == workerIndex) {
+                            action.accept(element);
+                            taken[0] = true;
+                        }
+                    });
+                    if (!advanced) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+        return StreamSupport.stream(partitioned, false).onClose(source::close);
+    }
+
+    /**
+     * Read a fixture file, choosing the format by extension (.csv or .jsonl)
+     */
+    public static Stream<UserRecord> read(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".csv")) {
+            return readCsv(file);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return readJsonl(file);
+        }
+        throw new IllegalArgumentException("Unsupported test data file (expected .csv or .jsonl): " + file);
+    }
+
+    /**
+     * Lazily read a CSV fixture file - close the stream to close the file
+     */
+    public static Stream<UserRecord> readCsv(Path file) {
+        BufferedReader reader = open(file);
+        try {
+            String header = reader.readLine();
+            if (header == null) {
+                reader.close();
+                return Stream.empty();
+            }
+            List<String> columns = parseCsvLine(header);
+            return reader.lines()
+                .filter(line -> !line.isEmpty())
+                .map(line -> {
+                    List<String> values = parseCsvLine(line);
+                    Map<String, String> row = new LinkedHashMap<>();
+                    for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                        row.put(columns.get(i), values.get(i));
+                    }
+                    return UserRecord.fromMap(row);
+                })
+                .onClose(() -> closeQuietly(reader));
+        } catch (IOException e) {
+            closeQuietly(reader);
+            throw new UncheckedIOException("Cannot read test data " + file, e);
+        }
+    }
+
+    /**
+     * Lazily read a JSONL fixture file (one JSON object per line) - close the stream to close the file
+     */
+    public static Stream<UserRecord> readJsonl(Path file) {
+        BufferedReader reader = open(file);
+        return reader.lines()
+            .filter(line -> !line.isBlank())
+            .map(line -> UserRecord.fromMap(json.<Map<String, Object>>toType(line, Json.MAP_TYPE)))
+            .onClose(() -> closeQuietly(reader));
+    }
+
+    /**
+     * Write records to a fixture file, choosing the format by extension (.csv or .jsonl)
+     * @return Number of records written
+     */
+    public static long write(Stream<UserRecord> records, Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".csv")) {
+            return writeCsv(records, file);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return writeJsonl(records, file);
+        }
+        throw new IllegalArgumentException("Unsupported test data file (expected .csv or .jsonl): " + file);
+    }
+
+    /**
+     * Stream records into a CSV file with a header row
+     * @return Number of records written
+     */
+    public static long writeCsv(Stream<UserRecord> records, Path file) {
+        return writeLines(records, file, String.join(",", UserRecord.COLUMNS), record -> {
+            StringBuilder line = new StringBuilder();
+            String separator = "";
+            for (Object value : record.toMap().values()) {
+                line.append(separator);
+                appendCsvField(line, String.valueOf(value));
+                separator = ",";
+            }
+            return line.toString();
+        });
+    }
+
+    /**
+     * Stream records into a JSONL file
+     * @return Number of records written
+     */
+    public static long writeJsonl(Stream<UserRecord> records, Path file) {
+        return writeLines(records, file, null, record -> {
+            StringBuilder line = new StringBuilder();
+            try (JsonOutput output = json.newOutput(line)) {
+                output.setPrettyPrint(false);
+                output.write(record.toMap());
+            }
+            return line.toString();
+        });
+    }
+
+    /**
+     * Adapt records to the @Parameters result of a JUnit Parameterized test. The stream is built when
+     * JUnit iterates and closed once it is exhausted.
+     * JUnit 4 Parameterized creates a runner per parameter set before the first test runs, so every
+     * record of the data set is held in memory for the whole test class. Split large data sets with
+     * shardIndex/shardCount, which bounds the records each JVM holds.
+     */
+    public static Iterable<Object[]> parameters(Supplier<Stream<UserRecord>> records) {
+        return () -> {
+            Stream<UserRecord> stream = records.get();
+            Iterator<UserRecord> iterator = stream.iterator();
+            return new Iterator<Object[]>() {
+                @Override
+                public boolean hasNext() {
+                    boolean hasNext = iterator.hasNext();
+                    if (!hasNext) {
+                        stream.close();
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public Object[] next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return new Object[]{iterator.next()};
+                }
+            };
+        };
+    }
+
+    private static long writeLines(Stream<UserRecord> records, Path file, String header,
+                                   Function<UserRecord, String> format) {
+        long[] written = new long[1];
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                if (header != null) {
+                    writer.write(header);
+                    writer.write('\n');
+                }
+                records.forEachOrdered(record -> {
+                    try {
+                        writer.write(format.apply(record));
+                        writer.write('\n');
+                        written[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write test data " + file, e);
+        }
+        System.out.println("Wrote " + written[0] + " test data record(s) to " + file);
+        return written[0];
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void checkPartition(int workerIndex, int workerCount) {
+        if (workerCount < 1 || workerIndex < 0 || workerIndex >= workerCount) {
+            throw new IllegalArgumentException("Invalid partition " + workerIndex + " of " + workerCount);
+        }
+    }
+
+    private static BufferedReader open(Path file) {
+        try {
+            return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open test data " + file, e);
+        }
+    }
+
+    private static void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            System.err.println("Cannot close test data file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One row of user form test data - what test07 fills into the home page form
+ */
+public class UserRecord {
+    /** Column order of CSV files */
+    public static final List<String> COLUMNS = List.of(
+        "id", "firstName", "lastName", "gender", "option", "date", "quantity", "message");
+
+    private final long id;
+    private final String firstName;
+    private final String lastName;
+    private final String gender;
+    private final String option;
+    private final String date;
+    private final int quantity;
+    private final String message;
+
+    public UserRecord(long id, String firstName, String lastName, String gender, String option,
+                      String date, int quantity, String message) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.gender = gender;
+        this.option = option;
+        this.date = date;
+        this.quantity = quantity;
+        this.message = message;
+    }
+
+    /**
+     * Generate the record with the given id - the same seed and id always give the same record
+     */
+    public static UserRecord generate(long id) {
+        return generate(id, RandomDataGenerator.randomFor(id));
+    }
+
+    /**
+     * Generate a record drawing from the given random stream
+     */
+    public static UserRecord generate(long id, SplittableRandom random) {
+        return new UserRecord(id,
+            RandomDataGenerator.generateRandomName(random),
+            RandomDataGenerator.generateRandomLastName(random),
+            RandomDataGenerator.generateRandomGender(random),
+            RandomDataGenerator.generateRandomOption(random),
+            RandomDataGenerator.generateRandomDate(random),
+            RandomDataGenerator.generateRandomInt(random, 5),
+            RandomDataGenerator.generateRandomString(random, 20));
+    }
+
+    /**
+     * Create a record from column values (CSV row or JSON object), keyed by COLUMNS
+     */
+    public static UserRecord fromMap(Map<String, ?> values) {
+        return new UserRecord(
+            Long.parseLong(String.valueOf(values.get("id"))),
+            String.valueOf(values.get("firstName")),
+            String.valueOf(values.get("lastName")),
+            String.valueOf(values.get("gender")),
+            String.valueOf(values.get("option")),
+            String.valueOf(values.get("date")),
+            Integer.parseInt(String.valueOf(values.get("quantity"))),
+            String.valueOf(values.get("message")));
+    }
+
+    /**
+     * Column values keyed by COLUMNS, in column order
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("firstName", firstName);
+        values.put("lastName", lastName);
+        values.put("gender", gender);
+        values.put("option", option);
+        values.put("date", date);
+        values.put("quantity", quantity);
+        values.put("message", message);
+        return values;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public String getOption() {
+        return option;
+    }
+
+    /**
+     * Option as the dropdown displays it ("option 1" -> "Option 1")
+     */
+    public String getOptionLabel() {
+        return option.substring(0, 1).toUpperCase() + option.substring(1);
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + firstName + " " + lastName + " (" + gender + ", " + option + ", " + date + ", x" + quantity + ")";
+    }
+}
@@ -0,0 +1,94 @@
+package utils;
+
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every test on its own virtual thread (JDK 21+), so tests blocked on driver roundtrips hold no OS thread.
+ * At most "parallelThreads" tests run at once: each running test holds a worker slot, whose id selects
+ * the worker.&lt;id&gt;.* configuration overlay like a platform worker thread would.
+ * build.gradle starts test JVMs with -Djdk.tracePinnedThreads=short, which reports where a virtual thread
+ * blocking inside a synchronized block pins its carrier.
+ */
+public class VirtualThreadScheduler implements RunnerScheduler {
+    private final ExecutorService executor;
+    private final BlockingQueue<Integer> workerSlots;
+
+    private VirtualThreadScheduler(ExecutorService executor, int concurrency) {
+        this.executor = executor;
+        this.workerSlots = new ArrayBlockingQueue<>(concurrency);
+        for (int slot = 1; slot <= concurrency; slot++) {
+            workerSlots.add(slot);
+        }
+        System.out.println("Running tests on virtual threads, at most " + concurrency + " at once");
+    }
+
+    /**
+     * Create the scheduler, or return null when the JVM has no virtual threads
+     */
+    public static VirtualThreadScheduler createIfSupported(int concurrency) {
+        ThreadFactory factory = virtualThreadFactory();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                .getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+            return new VirtualThreadScheduler(executor, concurrency);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void schedule(Runnable childStatement) {
+        executor.submit(() -> {
+            Integer slot;
+            try {
+                slot = workerSlots.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            TestContext.setWorkerId(slot);
+            try {
+                childStatement.run();
+            } finally {
+                // The thread ends with the test - give its session back before the slot moves on
+                DriverHolder.release();
+                workerSlots.add(slot);
+            }
+        });
+    }
+
+    @Override
+    public void finished() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Thread.ofVirtual().name("test-vthread-", 1).factory(), looked up reflectively so the tests still build on JDK 17
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "test-vthread-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
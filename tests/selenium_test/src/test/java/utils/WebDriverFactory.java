@@ -1,17 +1,22 @@
 package utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.firefox.FirefoxProfile;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 
 import java.io.File;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
 
 /**
  * WebDriver factory class - responsible for creating and configuring WebDriver instances
@@ -24,21 +29,53 @@ public class WebDriverFactory {
     public static WebDriver createDriver(ConfigReader config) {
         WebDriver driver;
         String browser = config.getBrowser().toLowerCase();
+        BrowserProfile profile = config.getBrowserProfile();
+        long start = System.nanoTime();
 
         switch (browser) {
             case "firefox":
-                driver = setupFirefoxDriver(config);
+                driver = setupFirefoxDriver(config, profile);
                 break;
             case "chrome":
             default:
-                driver = setupChromeDriver(config);
+                driver = setupChromeDriver(config, profile);
                 break;
         }
 
+        // Block, stub or cache network traffic
+        NetworkControls.install(driver, config);
+
         // Set timeout values
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
-        driver.manage().window().maximize();
+        // Headless windows already get the profile's fixed size - maximizing them costs a roundtrip for nothing
+        if (!profile.isHeadless(config)) {
+            driver.manage().window().maximize();
+        }
+        System.out.println("Started " + browser + " (" + profile.getProfileName() + ") in " +
+            (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        // Record per-command latency and the recent commands for failure artifacts
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (config.isMetricsEnabled()) {
+            listeners.add(CommandMetrics.getInstance(config));
+        }
+        CommandHistory history = config.getFailureCommandHistory() > 0
+            ? new CommandHistory(config.getFailureCommandHistory()) : null;
+        if (history != null) {
+            listeners.add(history);
+        }
+        if (!listeners.isEmpty()) {
+            driver = new EventFiringDecorator<WebDriver>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+        }
+        if (history != null) {
+            CommandHistory.register(driver, history);
+        }
+
+        // Collect network events for page timing records
+        if (config.isPageTimingHarEnabled()) {
+            HarCapture.attach(driver);
+        }
 
         return driver;
     }
@@ -46,15 +83,13 @@ public class WebDriverFactory {
     /**
      * Setup Chrome browser
      */
-    private static WebDriver setupChromeDriver(ConfigReader config) {
-        WebDriverManager.chromedriver().setup();
+    private static WebDriver setupChromeDriver(ConfigReader config, BrowserProfile profile) {
+        DriverResolver.resolve("chrome", config);
         
         ChromeOptions options = new ChromeOptions();
         
-        // Headless mode
-        if (config.isHeadless()) {
-            options.addArguments("--headless");
-        }
+        // Headless mode, window size and performance flags
+        profile.applyTo(options, config);
         
         // Disable notifications
         options.addArguments("--disable-notifications");
@@ -80,22 +115,28 @@ public class WebDriverFactory {
         prefs.put("download.prompt_for_download", false);
         options.setExperimentalOption("prefs", prefs);
         
-        return new ChromeDriver(options);
+        // Buffer console messages for failure artifacts - opt-in, the browser keeps every message of every page
+        if (config.isFailureConsoleLogEnabled()) {
+            LoggingPreferences logs = new LoggingPreferences();
+            logs.enable(LogType.BROWSER, Level.ALL);
+            options.setCapability(ChromeOptions.LOGGING_PREFS, logs);
+        }
+        
+        // Several sessions in one browser process, isolated by browser context
+        if (config.getBrowserContexts() > 1) {
+            return SharedBrowser.newContextDriver(options, config.getBrowserContexts());
+        }
+        return CopiedProfileChromeDriver.create(config.isSharedDriverService() ? DriverServices.chrome(options) : null, options);
     }
 
     /**
      * Setup Firefox browser
      */
-    private static WebDriver setupFirefoxDriver(ConfigReader config) {
-        WebDriverManager.firefoxdriver().setup();
+    private static WebDriver setupFirefoxDriver(ConfigReader config, BrowserProfile browserProfile) {
+        DriverResolver.resolve("firefox", config);
         
         FirefoxOptions options = new FirefoxOptions();
         
-        // Headless mode
-        if (config.isHeadless()) {
-            options.addArguments("--headless");
-        }
-        
         // Configure download settings
         String downloadPath = System.getProperty("user.dir") + File.separator + config.getDownloadPath();
         File downloadDir = new File(downloadPath);
@@ -103,15 +144,24 @@ public class WebDriverFactory {
             downloadDir.mkdirs();
         }
         
-        FirefoxProfile profile = new FirefoxProfile();
+        FirefoxProfile profile = browserProfile.newFirefoxProfile(config);
         profile.setPreference("browser.download.folderList", 2);
         profile.setPreference("browser.download.dir", downloadPath);
         profile.setPreference("browser.download.useDownloadDir", true);
         profile.setPreference("browser.helperApps.neverAsk.saveToDisk", 
                 "application/pdf;text/plain;application/text;text/xml;application/xml");
         
+        // Headless mode, window size and performance preferences
+        browserProfile.applyTo(options, profile, config);
         options.setProfile(profile);
         
+        if (config.getBrowserContexts() > 1) {
+            System.out.println("Shared browser contexts need Chrome, starting one Firefox per session");
+        }
+        
+        if (config.isSharedDriverService()) {
+            return new FirefoxDriver(DriverServices.gecko(options), options);
+        }
         return new FirefoxDriver(options);
     }
 }
\ No newline at end of file
@@ -0,0 +1,288 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.logging.LogType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * WebDriver pool - keeps warm browser sessions and hands them out as leases
+ */
+public class WebDriverPool {
+    private static final WebDriverPool INSTANCE = new WebDriverPool();
+
+    private final Map<String, Deque<PooledDriver>> idleDrivers = new ConcurrentHashMap<>();
+    private final Set<PooledDriver> leasedDrivers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Semaphore> sessionPermits = new ConcurrentHashMap<>();
+    private volatile boolean shutdown;
+
+    private WebDriverPool() {
+        DriverShutdown.register();
+    }
+
+    /**
+     * Get the JVM-wide pool instance
+     */
+    public static WebDriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Lease a driver matching the configuration, creating a new session only when no warm one is available
+     */
+    public Lease acquire(ConfigReader config) {
+        if (shutdown) {
+            throw new IllegalStateException("WebDriver pool has been shut down");
+        }
+
+        String key = keyFor(config);
+        Semaphore permits = acquirePermit(key, config);
+        try {
+            return acquire(key, config, permits);
+        } catch (RuntimeException e) {
+            if (permits != null) {
+                permits.release();
+            }
+            throw e;
+        }
+    }
+
+    private Lease acquire(String key, ConfigReader config, Semaphore permits) {
+        Deque<PooledDriver> idle = idleDrivers.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        Duration maxAge = Duration.ofSeconds(config.getPoolMaxAgeSeconds());
+
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.isExpired(maxAge)) {
+                System.out.println("Evicting expired pooled session: " + key);
+                quitQuietly(pooled);
+                continue;
+            }
+            break;
+        }
+
+        if (pooled == null) {
+            System.out.println("Creating new pooled session: " + key);
+            pooled = new PooledDriver(key, WebDriverFactory.createDriver(config), config.isFailureConsoleLogEnabled());
+        }
+
+        pooled.uses++;
+        leasedDrivers.add(pooled);
+        return new Lease(this, pooled, config.getPoolMaxUses(), permits);
+    }
+
+    /**
+     * Wait until fewer than poolMaxSessions sessions of the key are leased
+     * @return The permit to give back on release, or null when the pool is unbounded
+     */
+    private Semaphore acquirePermit(String key, ConfigReader config) {
+        if (config.getPoolMaxSessions() <= 0) {
+            return null;
+        }
+        Semaphore permits = sessionPermits.computeIfAbsent(key, k -> new Semaphore(config.getPoolMaxSessions(), true));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled session: " + key, e);
+        }
+        return permits;
+    }
+
+    /**
+     * Return a leased driver - resets it for reuse or evicts it when it is unhealthy or worn out
+     */
+    private void release(PooledDriver pooled, int maxUses, Semaphore permits) {
+        try {
+            recycle(pooled, maxUses);
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private void recycle(PooledDriver pooled, int maxUses) {
+        leasedDrivers.remove(pooled);
+
+        if (shutdown || pooled.uses >= maxUses) {
+            quitQuietly(pooled);
+            return;
+        }
+
+        if (!reset(pooled)) {
+            System.out.println("Evicting crashed pooled session: " + pooled.key);
+            quitQuietly(pooled);
+            return;
+        }
+
+        idleDrivers.computeIfAbsent(pooled.key, k -> new ConcurrentLinkedDeque<>()).offerFirst(pooled);
+    }
+
+    /**
+     * Reset session state (alerts, windows, cookies, storage) so the next lease starts clean
+     * @return false if the session no longer responds
+     */
+    private boolean reset(PooledDriver pooled) {
+        WebDriver driver = pooled.driver;
+        try {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                // No alert present - that's fine
+            }
+
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(pooled.mainWindow)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(pooled.mainWindow);
+
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}" +
+                    "try { window.sessionStorage.clear(); } catch (e) {}");
+            } catch (WebDriverException e) {
+                // Pages like about:blank have no storage
+            }
+
+            driver.manage().deleteAllCookies();
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies only covers the current domain
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            }
+
+            driver.get("about:blank");
+
+            // Failure artifacts of the next lease must only show its own console output and commands
+            if (pooled.consoleLog) {
+                driver.manage().logs().get(LogType.BROWSER);
+            }
+            CommandHistory history = CommandHistory.of(driver);
+            if (history != null) {
+                history.clear();
+            }
+            return true;
+        } catch (WebDriverException e) {
+            System.out.println("Pooled session reset failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Quit every pooled session
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Deque<PooledDriver> idle : idleDrivers.values()) {
+            PooledDriver pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                quitQuietly(pooled);
+            }
+        }
+        for (PooledDriver pooled : leasedDrivers) {
+            quitQuietly(pooled);
+        }
+        leasedDrivers.clear();
+    }
+
+    /**
+     * Every setting WebDriverFactory reads, so a worker overlay never gets a session built for another configuration
+     */
+    private static String keyFor(ConfigReader config) {
+        return config.getBrowser().toLowerCase() + "|headless=" + config.isHeadless() +
+            "|profile=" + config.getBrowserProfile().getProfileName() +
+            "|pageLoad=" + config.getPageLoadStrategy() +
+            "|userData=" + config.getUserDataTemplate() +
+            "|contexts=" + config.getBrowserContexts() +
+            "|sharedService=" + config.isSharedDriverService() +
+            "|downloads=" + config.getDownloadPath() +
+            "|waits=" + config.getImplicitWait() + "/" + config.getPageLoadTimeout() +
+            "|metrics=" + config.isMetricsEnabled() +
+            "|history=" + config.getFailureCommandHistory() +
+            "|consoleLog=" + config.isFailureConsoleLogEnabled() +
+            "|har=" + config.isPageTimingHarEnabled() +
+            "|network=" + NetworkControls.fingerprint(config);
+    }
+
+    private static void quitQuietly(PooledDriver pooled) {
+        try {
+            pooled.driver.quit();
+        } catch (WebDriverException e) {
+            System.out.println("Quitting pooled session failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A driver lent out by the pool - close it to give the session back
+     */
+    public static class Lease implements AutoCloseable {
+        private final WebDriverPool pool;
+        private final PooledDriver pooled;
+        private final int maxUses;
+        private final Semaphore permits;
+        private boolean released;
+
+        private Lease(WebDriverPool pool, PooledDriver pooled, int maxUses, Semaphore permits) {
+            this.pool = pool;
+            this.pooled = pooled;
+            this.maxUses = maxUses;
+            this.permits = permits;
+        }
+
+        public WebDriver getDriver() {
+            if (released) {
+                throw new IllegalStateException("Lease has already been released");
+            }
+            return pooled.driver;
+        }
+
+        /**
+         * Give the driver back to the pool
+         */
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                pool.release(pooled, maxUses, permits);
+            }
+        }
+    }
+
+    /**
+     * Pool bookkeeping for a single browser session
+     */
+    private static class PooledDriver {
+        private final String key;
+        private final WebDriver driver;
+        private final String mainWindow;
+        private final Instant createdAt = Instant.now();
+        // The session buffers console messages, which must be drained between leases
+        private final boolean consoleLog;
+        private int uses;
+
+        private PooledDriver(String key, WebDriver driver, boolean consoleLog) {
+            this.key = key;
+            this.driver = driver;
+            this.consoleLog = consoleLog;
+            this.mainWindow = driver.getWindowHandle();
+        }
+
+        private boolean isExpired(Duration maxAge) {
+            return Duration.between(createdAt, Instant.now()).compareTo(maxAge) > 0;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+<!DOCTYPE html>
+<html lang="en">
+<head>
+<meta charset="UTF-8">
+<title>login page</title>
+</head>
+<body>
+
+<h2 id="pageName">login page</h2>
+<form name="loginform" method="post" action="userinfo.php">
+  <table cellspacing="1" cellpadding="4">
+    <tr><td>Username :</td><td><input name="uname" type="text" size="20"></td></tr>
+    <tr><td>Password :</td><td><input name="pass" type="password" size="20"></td></tr>
+    <tr><td colspan="2" align="right"><input type="submit" value="login"></td></tr>
+  </table>
+</form>
+
+</body>
+</html>
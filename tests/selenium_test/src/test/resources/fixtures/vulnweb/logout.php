@@ -0,0 +1,13 @@
+<!DOCTYPE html>
+<html lang="en">
+<head>
+<meta charset="UTF-8">
+<title>logout</title>
+</head>
+<body>
+
+<h1>You have been logged out</h1>
+<p><a href="login.php">Login again</a></p>
+
+</body>
+</html>
@@ -0,0 +1,17 @@
+<!DOCTYPE html>
+<html lang="en">
+<head>
+<meta charset="UTF-8">
+<title>user info</title>
+</head>
+<body>
+
+<div id="globalNav">
+  <a href="login.php">Signup</a> | <a href="logout.php">Logout test</a>
+</div>
+
+<h2 id="pageName">john (test)</h2>
+<p>On this page you can visualize or edit you user information.</p>
+
+</body>
+</html>